@@ -0,0 +1,96 @@
+package com.example.client.users.user;
+
+import com.example.client.users.user.dto.UserDtoEx;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Serialization and deserialization of a find users page as JSON and as Jackson Smile. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@NullUnmarked
+public class SmileBenchmark {
+  private static final TypeReference<List<UserDtoEx>> USERS_TYPE = new TypeReference<>() {};
+
+  @Param({"20", "1000"})
+  int size;
+
+  private ObjectMapper jsonMapper;
+  private ObjectMapper smileMapper;
+  private List<UserDtoEx> users;
+  private byte[] json;
+  private byte[] smile;
+
+  @Setup
+  public void setup() throws IOException {
+    jsonMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    smileMapper =
+        Jackson2ObjectMapperBuilder.smile()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    var createdAt = Instant.parse("2026-10-18T10:15:30.123Z");
+    users =
+        IntStream.range(0, size)
+            .mapToObj(
+                i ->
+                    new UserDtoEx(
+                        UUID.randomUUID(),
+                        "user" + i + "@example.com",
+                        "First" + i,
+                        "Last" + i,
+                        createdAt.plusSeconds(i),
+                        true,
+                        null))
+            .toList();
+
+    json = jsonMapper.writeValueAsBytes(users);
+    smile = smileMapper.writeValueAsBytes(users);
+  }
+
+  @Benchmark
+  public byte[] writeJson() throws IOException {
+    return jsonMapper.writeValueAsBytes(users);
+  }
+
+  @Benchmark
+  public byte[] writeSmile() throws IOException {
+    return smileMapper.writeValueAsBytes(users);
+  }
+
+  @Benchmark
+  public List<UserDtoEx> readJson() throws IOException {
+    return jsonMapper.readValue(json, USERS_TYPE);
+  }
+
+  @Benchmark
+  public List<UserDtoEx> readSmile() throws IOException {
+    return smileMapper.readValue(smile, USERS_TYPE);
+  }
+}
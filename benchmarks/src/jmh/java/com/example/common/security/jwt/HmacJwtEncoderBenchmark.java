@@ -0,0 +1,64 @@
+package com.example.common.security.jwt;
+
+import com.example.common.security.SecurityUtils;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithms;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/** Creation of a refresh token by {@link NimbusJwtEncoder} and by the {@link HmacJwtEncoder}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HmacJwtEncoderBenchmark {
+  private static final SecretKey SECRET_KEY = SecurityUtils.createSecretKey("benchmarkSecret");
+  private static final String ISSUER = "https://example.com";
+  private static final String SUBJECT = "10015a9b-7b4b-a46d-69cf-41fedc06439e";
+  private static final String SCOPE = "refresh";
+  private static final Instant EXPIRES_AT = Instant.now().plus(30, ChronoUnit.DAYS);
+  private static final Map<String, Object> CLAIMS =
+      Map.of("sv", -6_917_529_027_641_081_856L, "user_scope", "user admin");
+
+  private final NimbusJwtEncoder nimbusEncoder =
+      new NimbusJwtEncoder(new ImmutableSecret<>(SECRET_KEY));
+  private final HmacJwtEncoder hmacEncoder = new HmacJwtEncoder(SECRET_KEY);
+
+  @Benchmark
+  public String nimbus() {
+    var headers = JwsHeader.with(() -> JwsAlgorithms.HS256).build();
+    var claimsSet =
+        JwtClaimsSet.builder()
+            .issuer(ISSUER)
+            .subject(SUBJECT)
+            .claim("scope", SCOPE)
+            .expiresAt(EXPIRES_AT)
+            .claims(c -> c.putAll(CLAIMS))
+            .build();
+
+    return nimbusEncoder.encode(JwtEncoderParameters.from(headers, claimsSet)).getTokenValue();
+  }
+
+  @Benchmark
+  public String hmac() {
+    return hmacEncoder.createToken(ISSUER, SUBJECT, SCOPE, EXPIRES_AT, CLAIMS);
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.common.web.service.invoker;
+
+import com.example.client.users.user.dto.FindUsersRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * Writing of a request parameter object by the {@link RequestParamObjectPlan} and by the Jackson
+ * tree walk of {@link RequestParamObjectArgumentResolver}.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestParamObjectBenchmark {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final RequestParamObjectPlan plan =
+      RequestParamObjectPlan.forType(FindUsersRequest.class).orElseThrow();
+  private final FindUsersRequest request =
+      new FindUsersRequest(
+          "john", true, false, List.of("email:asc", "lastName:desc"), 100L, 20, null);
+
+  @Benchmark
+  public HttpRequestValues.Builder plan() {
+    var requestValues = HttpRequestValues.builder();
+    plan.write(request, requestValues);
+    return requestValues;
+  }
+
+  @Benchmark
+  public HttpRequestValues.Builder tree() {
+    var requestValues = HttpRequestValues.builder();
+    RequestParamObjectArgumentResolver.writeTree(objectMapper, request, requestValues);
+    return requestValues;
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.service.users.configuration;
+
+import com.example.service.users.auth.PasswordProperties;
+import com.example.service.users.auth.PasswordProperties.Argon2Properties;
+import com.example.service.users.auth.PasswordProperties.BCryptProperties;
+import com.example.service.users.auth.PasswordProperties.Pbkdf2Properties;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Verification of a password by the encoder of each algorithm, with the parameters of {@code
+ * application.yml}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@NullUnmarked
+public class PasswordEncoderBenchmark {
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({"BCRYPT", "ARGON2", "PBKDF2"})
+  PasswordProperties.Algorithm algorithm;
+
+  private PasswordEncoder encoder;
+  private String hash;
+
+  @Setup
+  public void setup() {
+    var properties =
+        new PasswordProperties(
+            0,
+            0,
+            algorithm,
+            new BCryptProperties(10),
+            new Argon2Properties(16, 32, 1, 19456, 2),
+            new Pbkdf2Properties(16, 600_000));
+
+    encoder = SecurityConfiguration.createPasswordEncoder(properties);
+    hash = encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, hash);
+  }
+}
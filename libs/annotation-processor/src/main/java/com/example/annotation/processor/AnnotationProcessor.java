@@ -48,6 +48,7 @@ public class AnnotationProcessor extends AbstractProcessor {
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
     if (roundEnv.processingOver()) {
+      RequestParamObjectBinderGenerator.writeRegistry(context);
       return false;
     }
 
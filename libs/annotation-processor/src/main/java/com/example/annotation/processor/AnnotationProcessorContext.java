@@ -11,7 +11,9 @@ import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.util.Names;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.type.TypeKind;
@@ -34,6 +36,9 @@ class AnnotationProcessorContext {
   @Getter(AccessLevel.NONE)
   Map<String, Symbol> unboxingMap;
 
+  /** Names of the generated {@code RequestParamObjectBinder} classes. */
+  Set<String> binders;
+
   public AnnotationProcessorContext(ProcessingEnvironment processingEnv) {
     this.processingEnv = processingEnv;
 
@@ -46,6 +51,7 @@ class AnnotationProcessorContext {
     elements = processingEnv.getElementUtils();
 
     unboxingMap = creatUnboxingMap(Symtab.instance(context));
+    binders = new LinkedHashSet<>();
   }
 
   public Tree getTree(Element element) {
@@ -1,9 +1,11 @@
 package com.example.annotation.processor;
 
+import static com.sun.tools.javac.tree.JCTree.JCAssign;
 import static com.sun.tools.javac.tree.JCTree.JCClassDecl;
 import static com.sun.tools.javac.tree.JCTree.JCExpression;
 import static com.sun.tools.javac.tree.JCTree.JCMethodDecl;
 import static com.sun.tools.javac.tree.JCTree.JCModifiers;
+import static com.sun.tools.javac.tree.JCTree.JCNewArray;
 import static com.sun.tools.javac.tree.JCTree.JCTypeApply;
 
 import com.example.annotation.annotation.ClientInterface;
@@ -14,14 +16,17 @@ import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.processing.Generated;
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
@@ -29,6 +34,7 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.SimpleElementVisitor9;
 import javax.tools.Diagnostic;
 
@@ -42,6 +48,13 @@ class ClientInterfaceProcessor {
   private static final Set<String> requiredMethodAnnotations =
       Set.of("DeleteExchange", "GetExchange", "PatchExchange", "PostExchange", "PutExchange");
 
+  private static final Set<String> exchangeAnnotations =
+      requiredMethodAnnotations.stream()
+          .map("org.springframework.web.service.annotation."::concat)
+          .collect(Collectors.toUnmodifiableSet());
+  private static final Set<String> streamingMediaTypes =
+      Set.of("application/x-ndjson", "text/event-stream");
+
   private static final Set<String> namedAnnotations =
       Stream.of("RequestParam", "PathVariable")
           .map("org.springframework.web.bind.annotation."::concat)
@@ -96,7 +109,10 @@ class ClientInterfaceProcessor {
       generateSource(clasDecl, origClassDecl);
     } catch (IOException e) {
       printError("{0}: {1}", rootElement, null, e.getClass().getName(), e.getMessage());
+      return;
     }
+
+    generateBinders();
   }
 
   private static class ElementProcessorImpl implements ElementProcessor {
@@ -247,12 +263,18 @@ class ClientInterfaceProcessor {
     checkRequiredAnnotations(method, requiredMethodAnnotations, "Method {0}");
 
     var methodDef = (JCMethodDecl) processorContext.getTree(method);
+    var result = createMethodResult(method, methodDef.restype);
+    var modifiers =
+        serviceType == ServiceType.REACTIVE
+            ? createBlockingMethodModifiers(method, methodDef.getModifiers())
+            : methodDef.getModifiers();
+
     return processorContext
         .getTreeMaker()
         .MethodDef(
-            methodDef.getModifiers(),
+            modifiers,
             methodDef.name,
-            createMethodResult(method, methodDef.restype),
+            result,
             methodDef.typarams,
             methodDef.params,
             methodDef.thrown,
@@ -272,6 +294,80 @@ class ClientInterfaceProcessor {
     return createReactiveMethodResult(method, oldResult);
   }
 
+  /**
+   * Removes streaming media types from the {@code accept} attribute of the exchange annotation.
+   * Blocking clients read the whole response at once, so they request the non-streaming media types
+   * of the reactive interface.
+   */
+  private JCModifiers createBlockingMethodModifiers(
+      ExecutableElement method, JCModifiers modifiers) {
+    var treeMaker = processorContext.getTreeMaker();
+    var annotations =
+        modifiers.annotations.stream()
+            .map(
+                a -> {
+                  var mirror = getAnnotationMirror(method, Set.of(a.type.toString()));
+                  if (!exchangeAnnotations.contains(a.type.toString()) || mirror == null) {
+                    return a;
+                  }
+
+                  var args =
+                      a.args.stream()
+                          .map(arg -> removeStreamingMediaTypes(arg, mirror, method))
+                          .filter(Objects::nonNull)
+                          .toList();
+                  return treeMaker.Annotation(
+                      a.annotationType, com.sun.tools.javac.util.List.from(args));
+                })
+            .toList();
+
+    return treeMaker.Modifiers(modifiers.flags, com.sun.tools.javac.util.List.from(annotations));
+  }
+
+  private JCExpression removeStreamingMediaTypes(
+      JCExpression arg, AnnotationMirror mirror, ExecutableElement method) {
+    if (!(arg instanceof JCAssign assign) || !"accept".equals(assign.lhs.toString())) {
+      return arg;
+    }
+
+    var values =
+        mirror.getElementValues().entrySet().stream()
+            .filter(e -> "accept".contentEquals(e.getKey().getSimpleName()))
+            .map(e -> e.getValue().getValue())
+            .findFirst()
+            .map(v -> v instanceof List<?> list ? list : List.of(v))
+            .orElse(List.of());
+    var elements =
+        assign.rhs instanceof JCNewArray array
+            ? array.elems
+            : com.sun.tools.javac.util.List.of(assign.rhs);
+
+    if (values.size() != elements.size()) {
+      printError("Cannot resolve \"accept\" attribute", method, mirror);
+      return arg;
+    }
+
+    var accepted = new ArrayList<JCExpression>();
+    for (var i = 0; i < values.size(); i++) {
+      var value = values.get(i) instanceof AnnotationValue v ? v.getValue() : values.get(i);
+      if (!streamingMediaTypes.contains(String.valueOf(value))) {
+        accepted.add(elements.get(i));
+      }
+    }
+
+    if (accepted.isEmpty()) {
+      return null;
+    }
+
+    var treeMaker = processorContext.getTreeMaker();
+    return treeMaker.Assign(
+        assign.lhs,
+        treeMaker.NewArray(
+            null,
+            com.sun.tools.javac.util.List.nil(),
+            com.sun.tools.javac.util.List.from(accepted)));
+  }
+
   private JCExpression createBlockingMethodResult(
       ExecutableElement method, JCExpression oldResult) {
     if (method.getReturnType() instanceof DeclaredType declaredType
@@ -358,6 +454,18 @@ class ClientInterfaceProcessor {
     }
   }
 
+  /** Generates binders for the {@code RequestParamObject} parameters of the interface methods. */
+  private void generateBinders() {
+    for (var method : ElementFilter.methodsIn(rootElement.getEnclosedElements())) {
+      for (var param : method.getParameters()) {
+        if (getAnnotationMirror(param, Set.of(RequestParamObjectBinderGenerator.ANNOTATION_TYPE))
+            != null) {
+          RequestParamObjectBinderGenerator.generate(processorContext, param.asType());
+        }
+      }
+    }
+  }
+
   private void checkNamedAnnotation(AnnotationMirror annotation, VariableElement param) {
     if (annotation.getElementValues().entrySet().stream()
         .noneMatch(
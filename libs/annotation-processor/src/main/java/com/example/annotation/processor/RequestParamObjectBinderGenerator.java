@@ -0,0 +1,439 @@
+package com.example.annotation.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.Generated;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates {@code RequestParamObjectBinder} implementations for records used as {@code
+ * RequestParamObject} arguments.
+ *
+ * <p>A binder writes the same request parameters as the Jackson tree walk of {@code
+ * RequestParamObjectArgumentResolver}. Records of scalars, collections, arrays and nested records
+ * without Jackson serialization annotations are supported, no binder is generated for other types.
+ * Generated binders are registered in {@code META-INF/services} when processing is over.
+ */
+class RequestParamObjectBinderGenerator {
+  static final String ANNOTATION_TYPE = "com.example.common.web.bind.annotation.RequestParamObject";
+
+  private static final String BINDER_TYPE =
+      "com.example.common.web.service.invoker.RequestParamObjectBinder";
+  private static final String REQUEST_VALUES_TYPE =
+      "org.springframework.web.service.invoker.HttpRequestValues.Builder";
+  private static final String JACKSON_ANNOTATION_TYPE =
+      "com.fasterxml.jackson.annotation.JacksonAnnotation";
+  private static final String JSON_DESERIALIZE_TYPE =
+      "com.fasterxml.jackson.databind.annotation.JsonDeserialize";
+
+  private static final Set<String> scalarTypes =
+      Set.of(
+          "java.lang.String",
+          "java.lang.Boolean",
+          "java.lang.Byte",
+          "java.lang.Short",
+          "java.lang.Integer",
+          "java.lang.Long",
+          "java.lang.Float",
+          "java.lang.Double",
+          "java.math.BigInteger",
+          "java.util.UUID");
+
+  private final AnnotationProcessorContext processorContext;
+  private final Map<String, String> methods = new LinkedHashMap<>();
+  private final StringBuilder body = new StringBuilder();
+  private int variables;
+
+  private RequestParamObjectBinderGenerator(AnnotationProcessorContext processorContext) {
+    this.processorContext = processorContext;
+  }
+
+  /**
+   * Generates a binder for the argument type, unless it is not supported or already generated.
+   *
+   * @param context annotation processor context
+   * @param type argument type, {@code Optional} is unwrapped
+   */
+  static void generate(AnnotationProcessorContext context, TypeMirror type) {
+    if (type instanceof DeclaredType declaredType
+        && "java.util.Optional".equals(declaredType.asElement().toString())
+        && declaredType.getTypeArguments().size() == 1) {
+      type = declaredType.getTypeArguments().getFirst();
+    }
+
+    if (!(type instanceof DeclaredType declaredType)
+        || !(declaredType.asElement() instanceof TypeElement element)
+        || context.getTree(element) == null) {
+      return;
+    }
+
+    var binderName = getBinderName(context, element);
+    if (context.getBinders().contains(binderName)) {
+      return;
+    }
+
+    var generator = new RequestParamObjectBinderGenerator(context);
+    if (generator.compileRecord(element) == null) {
+      return;
+    }
+
+    try {
+      generator.generateSource(element, binderName);
+      context.getBinders().add(binderName);
+    } catch (IOException e) {
+      context
+          .getProcessingEnv()
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR,
+              RequestParamObjectBinderGenerator.class.getSimpleName()
+                  + ": "
+                  + e.getClass().getName()
+                  + ": "
+                  + e.getMessage(),
+              element);
+    }
+  }
+
+  /**
+   * Registers the generated binders in {@code META-INF/services}.
+   *
+   * @param context annotation processor context
+   */
+  static void writeRegistry(AnnotationProcessorContext context) {
+    if (context.getBinders().isEmpty()) {
+      return;
+    }
+
+    try {
+      var resource =
+          context
+              .getProcessingEnv()
+              .getFiler()
+              .createResource(
+                  StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + BINDER_TYPE);
+
+      try (var out = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+        for (var binder : context.getBinders()) {
+          out.write(binder + "\n");
+        }
+      }
+    } catch (IOException e) {
+      context
+          .getProcessingEnv()
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR,
+              RequestParamObjectBinderGenerator.class.getSimpleName()
+                  + ": "
+                  + e.getClass().getName()
+                  + ": "
+                  + e.getMessage());
+    }
+  }
+
+  private static String getBinderName(AnnotationProcessorContext context, TypeElement element) {
+    var packageName = context.getElements().getPackageOf(element).getQualifiedName().toString();
+    var simpleName =
+        element.getQualifiedName().toString().substring(packageName.length() + 1).replace('.', '_');
+
+    return packageName + "." + simpleName + "ParamBinder";
+  }
+
+  private void generateSource(TypeElement element, String binderName) throws IOException {
+    var packageName = binderName.substring(0, binderName.lastIndexOf('.'));
+    var simpleName = binderName.substring(packageName.length() + 1);
+    var typeName = element.getQualifiedName().toString();
+
+    var sourceFile =
+        processorContext.getProcessingEnv().getFiler().createSourceFile(binderName, element);
+
+    try (var out = new OutputStreamWriter(sourceFile.openOutputStream(), StandardCharsets.UTF_8)) {
+      out.write(
+          MessageFormat.format(
+              """
+              package {0};
+
+              @{1}(
+                  value="{2}",
+                  date="{3}",
+                  comments = "source: {4}"
+              )
+              public final class {5} implements {6}<{4}> '{'
+
+                @Override
+                public Class<{4}> type() '{'
+                  return {4}.class;
+                '}'
+
+                @Override
+                public void bind({4} argument, {7} requestValues) '{'
+                  {8}(argument, "", requestValues);
+                '}'
+              """,
+              packageName,
+              Generated.class.getName(),
+              getClass().getName(),
+              Instant.now(),
+              typeName,
+              simpleName,
+              BINDER_TYPE,
+              REQUEST_VALUES_TYPE,
+              methods.get(typeName)));
+
+      out.write(body.toString());
+      out.write("}\n");
+    }
+  }
+
+  private String compileRecord(TypeElement element) {
+    var typeName = element.getQualifiedName().toString();
+    var method = methods.get(typeName);
+    if (method != null) {
+      return method;
+    }
+
+    if (element.getKind() != ElementKind.RECORD
+        || !element.getModifiers().contains(Modifier.PUBLIC)
+        || !element.getTypeParameters().isEmpty()
+        || hasJacksonAnnotations(element)
+        || hasExtraGetters(element)) {
+      return null;
+    }
+
+    // Registered before the components are compiled, so that recursive records call themselves
+    method = "bind" + methods.size();
+    methods.put(typeName, method);
+
+    var code = new StringBuilder();
+    for (var component : element.getRecordComponents()) {
+      var name = component.getSimpleName().toString();
+      var field =
+          ElementFilter.fieldsIn(element.getEnclosedElements()).stream()
+              .filter(f -> f.getSimpleName().contentEquals(name))
+              .findFirst()
+              .orElse(null);
+
+      if (hasJacksonAnnotations(component)
+          || hasJacksonAnnotations(component.getAccessor())
+          || (field != null && hasJacksonAnnotations(field))) {
+        return null;
+      }
+
+      var type = component.asType();
+      var value = nextVariable("v");
+      var nameExpr = nextVariable("n");
+      var valueCode = compileValue(type, value, nameExpr, "      ");
+      if (valueCode == null) {
+        return null;
+      }
+
+      code.append("    var ").append(value).append(" = value.").append(name).append("();\n");
+      if (type.getKind().isPrimitive()) {
+        code.append("    {\n");
+      } else {
+        code.append("    if (").append(value).append(" != null) {\n");
+      }
+
+      code.append("      var ")
+          .append(nameExpr)
+          .append(" = prefix + \"")
+          .append(name)
+          .append("\";\n")
+          .append(valueCode)
+          .append("    }\n");
+    }
+
+    body.append("\n  private static void ")
+        .append(method)
+        .append("(\n      ")
+        .append(typeName)
+        .append(" value, String prefix, ")
+        .append(REQUEST_VALUES_TYPE)
+        .append(" requestValues) {\n")
+        .append(code)
+        .append("  }\n");
+
+    return method;
+  }
+
+  private String compileValue(TypeMirror type, String value, String name, String indent) {
+    var kind = type.getKind();
+    if (kind.isPrimitive()) {
+      return kind != TypeKind.CHAR ? scalar(value, name, indent) : null;
+    }
+
+    if (type instanceof ArrayType arrayType) {
+      var componentKind = arrayType.getComponentType().getKind();
+      return componentKind != TypeKind.BYTE && componentKind != TypeKind.CHAR
+          ? compileElements(arrayType.getComponentType(), value, name, indent, true)
+          : null;
+    }
+
+    if (!(type instanceof DeclaredType declaredType)
+        || !(declaredType.asElement() instanceof TypeElement element)) {
+      return null;
+    }
+
+    if (scalarTypes.contains(element.getQualifiedName().toString())) {
+      return scalar(value, name, indent);
+    }
+
+    if (isCollection(declaredType)) {
+      return declaredType.getTypeArguments().size() == 1
+          ? compileElements(declaredType.getTypeArguments().getFirst(), value, name, indent, false)
+          : null;
+    }
+
+    var method = compileRecord(element);
+    return method != null
+        ? indent + method + "(" + value + ", " + name + " + \".\", requestValues);\n"
+        : null;
+  }
+
+  private String compileElements(
+      TypeMirror elementType, String value, String name, String indent, boolean array) {
+
+    var index = nextVariable("i");
+    var element = nextVariable("e");
+    var elementName = nextVariable("n");
+    var elementCode = compileValue(elementType, element, elementName, indent + "    ");
+    if (elementCode == null) {
+      return null;
+    }
+
+    var code = new StringBuilder();
+    if (array) {
+      code.append(indent)
+          .append("for (var ")
+          .append(index)
+          .append(" = 0; ")
+          .append(index)
+          .append(" < ")
+          .append(value)
+          .append(".length; ")
+          .append(index)
+          .append("++) {\n")
+          .append(indent)
+          .append("  var ")
+          .append(element)
+          .append(" = ")
+          .append(value)
+          .append("[")
+          .append(index)
+          .append("];\n");
+    } else {
+      code.append(indent)
+          .append("var ")
+          .append(index)
+          .append(" = 0;\n")
+          .append(indent)
+          .append("for (var ")
+          .append(element)
+          .append(" : ")
+          .append(value)
+          .append(") {\n");
+    }
+
+    code.append(indent)
+        .append("  var ")
+        .append(elementName)
+        .append(" = ")
+        .append(name)
+        .append(" + \"[\" + ")
+        .append(index)
+        .append(" + \"]\";\n");
+
+    if (elementType.getKind().isPrimitive()) {
+      code.append(indent).append("  {\n");
+    } else {
+      // Jackson writes null elements as the "null" text
+      code.append(indent)
+          .append("  if (")
+          .append(element)
+          .append(" == null) {\n")
+          .append(indent)
+          .append("    requestValues.addRequestParameter(")
+          .append(elementName)
+          .append(", \"null\");\n")
+          .append(indent)
+          .append("  } else {\n");
+    }
+
+    code.append(elementCode).append(indent).append("  }\n");
+    if (!array) {
+      code.append(indent).append("  ").append(index).append("++;\n");
+    }
+
+    // The empty parameter named after the collection lets the server bind indexed parameters
+    return code.append(indent)
+        .append("}\n")
+        .append(indent)
+        .append("requestValues.addRequestParameter(")
+        .append(name)
+        .append(", \"\");\n")
+        .toString();
+  }
+
+  private static String scalar(String value, String name, String indent) {
+    return indent
+        + "requestValues.addRequestParameter("
+        + name
+        + ", String.valueOf("
+        + value
+        + "));\n";
+  }
+
+  private boolean isCollection(DeclaredType type) {
+    var types = processorContext.getProcessingEnv().getTypeUtils();
+    var collection = processorContext.getElements().getTypeElement("java.util.Collection");
+    return collection != null
+        && types.isAssignable(types.erasure(type), types.erasure(collection.asType()));
+  }
+
+  private static boolean hasJacksonAnnotations(Element element) {
+    return element.getAnnotationMirrors().stream()
+        .map(a -> a.getAnnotationType().asElement())
+        .filter(a -> !JSON_DESERIALIZE_TYPE.equals(a.toString()))
+        .flatMap(a -> a.getAnnotationMirrors().stream())
+        .anyMatch(a -> JACKSON_ANNOTATION_TYPE.equals(a.getAnnotationType().toString()));
+  }
+
+  private boolean hasExtraGetters(TypeElement element) {
+    var components = new HashSet<String>();
+    for (var component : element.getRecordComponents()) {
+      components.add(component.getSimpleName().toString());
+    }
+
+    return ElementFilter.methodsIn(processorContext.getElements().getAllMembers(element)).stream()
+        .filter(m -> !"java.lang.Object".equals(m.getEnclosingElement().toString()))
+        .filter(m -> m.getModifiers().contains(Modifier.PUBLIC))
+        .filter(m -> !m.getModifiers().contains(Modifier.STATIC))
+        .filter(m -> m.getParameters().isEmpty())
+        .map(m -> m.getSimpleName().toString())
+        .anyMatch(
+            name ->
+                !components.contains(name) && (name.startsWith("get") || name.startsWith("is")));
+  }
+
+  private String nextVariable(String prefix) {
+    return prefix + variables++;
+  }
+}
@@ -1,11 +1,17 @@
 package com.example.autoconfigure.web.reactive.security;
 
 import com.example.common.security.configuration.SecurityConfigurationUtils;
+import com.example.common.security.jwt.JwtAuthenticationCache;
 import java.util.Objects;
 import org.jspecify.annotations.Nullable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -120,13 +126,43 @@ public class DefaultReactiveSecurityConfigurator implements ReactiveSecurityConf
    *
    * @implSpec This implementation configures the JWT decoder and JWT authentication converter using
    *     beans of types {@link ReactiveJwtDecoder} and {@link ReactiveJwtAuthenticationConverter}
-   *     from the application context.
+   *     from the application context. If there is a {@link JwtAuthenticationCache} bean, verified
+   *     tokens are cached by the bearer token and converted to a new authentication for every
+   *     request.
    */
   protected void oauth2ResourceServer(ServerHttpSecurity.OAuth2ResourceServerSpec oauth2) {
     var jwtDecoder = getBean(ReactiveJwtDecoder.class);
     var jwtConverter = getBean(ReactiveJwtAuthenticationConverter.class);
-
-    oauth2.jwt(jwt -> jwt.jwtDecoder(jwtDecoder).jwtAuthenticationConverter(jwtConverter));
+    var jwtCache =
+        Objects.requireNonNull(context)
+            .getBeanProvider(JwtAuthenticationCache.class)
+            .getIfAvailable();
+    if (jwtCache == null) {
+      oauth2.jwt(jwt -> jwt.jwtDecoder(jwtDecoder).jwtAuthenticationConverter(jwtConverter));
+      return;
+    }
+
+    var manager = new JwtReactiveAuthenticationManager(jwtDecoder);
+    manager.setJwtAuthenticationConverter(jwtConverter);
+
+    ReactiveAuthenticationManager authenticationManager =
+        authentication -> {
+          var token = ((BearerTokenAuthenticationToken) authentication).getToken();
+          var jwt = jwtCache.get(token);
+          if (jwt != null) {
+            return Objects.requireNonNull(jwtConverter.convert(jwt)).cast(Authentication.class);
+          }
+
+          return manager
+              .authenticate(authentication)
+              .doOnNext(
+                  a -> {
+                    if (a.getCredentials() instanceof Jwt verified) {
+                      jwtCache.put(token, verified);
+                    }
+                  });
+        };
+    oauth2.jwt(jwt -> jwt.authenticationManager(authenticationManager));
   }
 
   /**
@@ -1,10 +1,13 @@
 package com.example.autoconfigure.web.reactive.security;
 
 import com.example.common.security.SecurityUtils;
+import com.example.common.security.jwt.JwtAuthenticationCache;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -48,6 +51,16 @@ public class ReactiveSecurityAutoConfiguration {
     return NimbusReactiveJwtDecoder.withSecretKey(SecurityUtils.createSecretKey(secret)).build();
   }
 
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+  @ConditionalOnProperty("auth.jwt.cache.enabled")
+  public JwtAuthenticationCache jwtAuthenticationCache(
+      @Value("${auth.jwt.cache.max-size}") long maxSize,
+      @Value("${auth.jwt.cache.max-ttl}") Duration maxTtl) {
+    return new JwtAuthenticationCache(maxSize, maxTtl);
+  }
+
   @Bean
   @ConditionalOnMissingBean
   public ReactiveJwtAuthenticationConverter jwtAuthenticationConverter() {
@@ -1,10 +1,12 @@
 package com.example.autoconfigure.web.servlet.security;
 
 import com.example.common.security.configuration.SecurityConfigurationUtils;
+import com.example.common.security.jwt.JwtAuthenticationCache;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
 import org.springframework.security.config.annotation.web.configurers.CorsConfigurer;
@@ -14,7 +16,10 @@ import org.springframework.security.config.annotation.web.configurers.RequestCac
 import org.springframework.security.config.annotation.web.configurers.SessionManagementConfigurer;
 import org.springframework.security.config.annotation.web.configurers.oauth2.server.resource.OAuth2ResourceServerConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 /**
@@ -128,13 +133,42 @@ public class DefaultServletSecurityConfigurator implements ServletSecurityConfig
    *
    * @implSpec This implementation configures the JWT decoder and JWT authentication converter using
    *     beans of types {@link JwtDecoder} and {@link ServletJwtAuthenticationConverter} from the
-   *     application context.
+   *     application context. If there is a {@link JwtAuthenticationCache} bean, verified tokens are
+   *     cached by the bearer token and converted to a new authentication for every request.
    */
   protected void oauth2ResourceServer(OAuth2ResourceServerConfigurer<HttpSecurity> oauth2) {
     var jwtDecoder = getBean(JwtDecoder.class);
     var jwtConverter = getBean(ServletJwtAuthenticationConverter.class);
-
-    oauth2.jwt(jwt -> jwt.decoder(jwtDecoder).jwtAuthenticationConverter(jwtConverter));
+    var jwtCache =
+        Objects.requireNonNull(context)
+            .getBeanProvider(JwtAuthenticationCache.class)
+            .getIfAvailable();
+    if (jwtCache == null) {
+      oauth2.jwt(jwt -> jwt.decoder(jwtDecoder).jwtAuthenticationConverter(jwtConverter));
+      return;
+    }
+
+    var provider = new JwtAuthenticationProvider(jwtDecoder);
+    provider.setJwtAuthenticationConverter(jwtConverter);
+
+    AuthenticationManager authenticationManager =
+        authentication -> {
+          var token = ((BearerTokenAuthenticationToken) authentication).getToken();
+          var jwt = jwtCache.get(token);
+          if (jwt == null) {
+            var result = provider.authenticate(authentication);
+            if (result.getCredentials() instanceof Jwt verified) {
+              jwtCache.put(token, verified);
+            }
+
+            return result;
+          }
+
+          var result = jwtConverter.convert(jwt);
+          result.setDetails(authentication.getDetails());
+          return result;
+        };
+    oauth2.jwt(jwt -> jwt.authenticationManager(authenticationManager));
   }
 
   /**
@@ -0,0 +1,127 @@
+package com.example.common.data;
+
+import com.example.common.error.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Continuation cursor for keyset (seek) pagination.
+ *
+ * <p>Holds the sort order of a query and the sort key values of the last returned row. Clients
+ * receive the cursor in the {@link #encode() encoded} form and must treat it as an opaque string.
+ *
+ * @param sort sort order in the {@code property:direction} format
+ * @param values sort key values of the last returned row, one for each sort order
+ */
+public record SeekCursor(List<String> sort, List<String> values) {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final String INVALID_CURSOR = "Invalid cursor";
+
+  /**
+   * Creates a cursor for the given sort order and sort key values.
+   *
+   * @param sort sort order
+   * @param values sort key values, one for each sort order
+   * @return created cursor
+   */
+  public static SeekCursor of(Sort sort, List<?> values) {
+    return new SeekCursor(toStrings(sort), values.stream().map(String::valueOf).toList());
+  }
+
+  /**
+   * Decodes a cursor from its {@link #encode() encoded} form.
+   *
+   * @param cursor encoded cursor
+   * @return decoded cursor
+   * @throws BadRequestException if the cursor is malformed
+   */
+  public static SeekCursor decode(String cursor) throws BadRequestException {
+    SeekCursor result;
+    try {
+      result = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), SeekCursor.class);
+    } catch (IllegalArgumentException | IOException ex) {
+      throw new BadRequestException(INVALID_CURSOR, ex);
+    }
+
+    if (result == null
+        || result.sort() == null
+        || result.values() == null
+        || result.sort().size() != result.values().size()
+        || result.values().contains(null)) {
+      throw new BadRequestException(INVALID_CURSOR);
+    }
+
+    return result;
+  }
+
+  /**
+   * Encodes the cursor into an opaque URL-safe string.
+   *
+   * @return encoded cursor
+   */
+  public String encode() {
+    try {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(objectMapper.writeValueAsBytes(this));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Checks that the cursor was created for the given sort order.
+   *
+   * @param sort sort order
+   * @throws BadRequestException if the cursor was created for a different sort order
+   */
+  public void checkSort(Sort sort) throws BadRequestException {
+    if (!this.sort.equals(toStrings(sort))) {
+      throw new BadRequestException("Cursor does not match the sort order");
+    }
+  }
+
+  /**
+   * Returns a sort key value converted to the given type.
+   *
+   * @param index sort key index
+   * @param type value type, one of {@code String}, {@code Long}, {@code Integer}, {@code Boolean},
+   *     {@code UUID} or {@code Instant}
+   * @return converted value
+   * @throws BadRequestException if the value cannot be converted
+   */
+  public Object getValue(int index, Class<?> type) throws BadRequestException {
+    var value = values.get(index);
+    try {
+      if (type == String.class) {
+        return value;
+      } else if (type == Long.class || type == long.class) {
+        return Long.valueOf(value);
+      } else if (type == Integer.class || type == int.class) {
+        return Integer.valueOf(value);
+      } else if (type == Boolean.class || type == boolean.class) {
+        return Boolean.valueOf(value);
+      } else if (type == UUID.class) {
+        return UUID.fromString(value);
+      } else if (type == Instant.class) {
+        return Instant.parse(value);
+      }
+    } catch (RuntimeException ex) {
+      throw new BadRequestException(INVALID_CURSOR, ex);
+    }
+
+    throw new IllegalArgumentException("Unsupported cursor value type " + type.getName());
+  }
+
+  private static List<String> toStrings(Sort sort) {
+    return sort.stream()
+        .map(o -> o.getProperty() + ':' + (o.isAscending() ? "asc" : "desc"))
+        .toList();
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.common.data;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Transaction utilities. */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionUtils {
+
+  /**
+   * Runs the action immediately and once again after the current transaction completes.
+   *
+   * <p>Intended for cache invalidation: the first run evicts stale entries for the rest of the
+   * transaction, the second run evicts entries which concurrent readers loaded before the
+   * transaction was committed. Without an active transaction synchronization the action is run only
+   * once.
+   *
+   * @param action action to run
+   */
+  public static void runNowAndAfterCompletion(Runnable action) {
+    action.run();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              action.run();
+            }
+          });
+    }
+  }
+
+  /**
+   * Runs the action after the current transaction completes.
+   *
+   * <p>Without an active transaction synchronization the action is run immediately. Data access in
+   * the action must use a new transaction, because the resources of the completed transaction may
+   * still be bound to the thread.
+   *
+   * @param action action to run
+   */
+  public static void runAfterCompletion(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            action.run();
+          }
+        });
+  }
+}
@@ -1,18 +1,28 @@
 package com.example.common.data.jpa;
 
+import com.example.common.data.SeekCursor;
+import com.example.common.error.exception.BadRequestException;
 import com.example.common.error.exception.ConflictException;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.exception.ConstraintViolationException;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.query.criteria.JpaCriteriaQuery;
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
 import org.springframework.util.ClassUtils;
 
 /** JPA utilities. */
@@ -102,6 +112,22 @@ public class JpaUtils {
     }
   }
 
+  /**
+   * Returns the Hibernate SQL dialect used by the entity manager.
+   *
+   * <p>Allows to use database specific features with a fallback for other databases, e.g. for H2 in
+   * tests.
+   *
+   * @param em entity manager
+   * @return SQL dialect
+   */
+  public static Dialect getDialect(EntityManager em) {
+    return em.getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect();
+  }
+
   /**
    * Sets the first result offset for the criteria query.
    *
@@ -130,6 +156,54 @@ public class JpaUtils {
     ((JpaCriteriaQuery<?>) cq).fetch(limit);
   }
 
+  /**
+   * Creates a keyset (seek) predicate which selects rows following the row the {@code cursor} was
+   * created for.
+   *
+   * <p>Unlike offsets, the predicate lets the database start reading right after the last returned
+   * row, so every page costs the same. The last sort order must be on a unique property to make the
+   * order total.
+   *
+   * @param cb criteria builder
+   * @param root query root
+   * @param sort sort order of the query
+   * @param cursor continuation cursor
+   * @return seek predicate
+   * @throws BadRequestException if the cursor does not match the sort order
+   */
+  public static Predicate seekPredicate(
+      CriteriaBuilder cb, Path<?> root, Sort sort, SeekCursor cursor) throws BadRequestException {
+    cursor.checkSort(sort);
+
+    var orders = sort.toList();
+    var equals = new ArrayList<Predicate>(orders.size());
+    var alternatives = new ArrayList<Predicate>(orders.size());
+    @Nullable Predicate first = null;
+    for (int i = 0; i < orders.size(); i++) {
+      var order = orders.get(i);
+      Path<Comparable<Object>> path = root.get(order.getProperty());
+      @SuppressWarnings("unchecked")
+      var value = (Comparable<Object>) cursor.getValue(i, path.getJavaType());
+
+      var next = order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+      if (i == 0) {
+        // Redundant range condition on the leading key helps the optimizer to use an index
+        first =
+            order.isAscending()
+                ? cb.greaterThanOrEqualTo(path, value)
+                : cb.lessThanOrEqualTo(path, value);
+      }
+
+      var conditions = new ArrayList<>(equals);
+      conditions.add(next);
+      alternatives.add(cb.and(conditions.toArray(Predicate[]::new)));
+      equals.add(cb.equal(path, value));
+    }
+
+    var seek = cb.or(alternatives.toArray(Predicate[]::new));
+    return first != null ? cb.and(first, seek) : seek;
+  }
+
   private static Class<?> getEffectiveClass(Object o) {
     return o instanceof HibernateProxy hp
         ? hp.getHibernateLazyInitializer().getPersistentClass()
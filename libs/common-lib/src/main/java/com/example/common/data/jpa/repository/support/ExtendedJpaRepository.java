@@ -2,6 +2,7 @@ package com.example.common.data.jpa.repository.support;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ObjLongConsumer;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -54,6 +55,25 @@ public interface ExtendedJpaRepository<T, ID>
    */
   void persistAllAndFlush(Iterable<T> entities);
 
+  /**
+   * Inserts entities with JDBC batches.
+   *
+   * <p>Unlike {@link #persistAll(Iterable)}, inserts are batched for entities with {@code IDENTITY}
+   * identifiers too, which Hibernate always inserts one by one. The statement is executed directly,
+   * so the entities are not managed by the persistence context afterwards. Generated keys are
+   * passed to the {@code idSetter} in the order of the entities.
+   *
+   * @param entities entities to be inserted. Must not be {@literal null}
+   * @param sql insert statement of a single entity
+   * @param binder binds the statement parameters of an entity
+   * @param idSetter sets the generated identifier of an entity
+   */
+  <S extends T> void batchInsert(
+      List<S> entities,
+      String sql,
+      StatementBinder<? super S> binder,
+      ObjLongConsumer<? super S> idSetter);
+
   /**
    * Merges an entity.
    *
@@ -1,9 +1,13 @@
 package com.example.common.data.jpa.repository.support;
 
 import jakarta.persistence.EntityManager;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ObjLongConsumer;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
@@ -13,6 +17,7 @@ import org.springframework.util.Assert;
 /** Implementation class for {@link ExtendedJpaRepository} interface */
 public class ExtendedJpaRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID>
     implements ExtendedJpaRepository<T, ID> {
+  private static final int DEFAULT_BATCH_SIZE = 50;
 
   private final EntityManager entityManager;
 
@@ -62,6 +67,49 @@ public class ExtendedJpaRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID>
     flush();
   }
 
+  @Override
+  @Transactional
+  public <S extends T> void batchInsert(
+      List<S> entities,
+      String sql,
+      StatementBinder<? super S> binder,
+      ObjLongConsumer<? super S> idSetter) {
+
+    Assert.notNull(entities, "Entities must not be null");
+    if (entities.isEmpty()) {
+      return;
+    }
+
+    // Pending changes go first, so that the statements are executed in the order of the calls
+    var session = entityManager.unwrap(Session.class);
+    session.flush();
+
+    var batchSize = getBatchSize(session);
+    session.doWork(
+        con -> {
+          try (var ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (var from = 0; from < entities.size(); from += batchSize) {
+              var batch = entities.subList(from, Math.min(from + batchSize, entities.size()));
+              for (var entity : batch) {
+                binder.bind(ps, entity);
+                ps.addBatch();
+              }
+
+              ps.executeBatch();
+              try (var keys = ps.getGeneratedKeys()) {
+                for (var entity : batch) {
+                  if (!keys.next()) {
+                    throw new IllegalStateException("Generated key is missing");
+                  }
+
+                  idSetter.accept(entity, keys.getLong(1));
+                }
+              }
+            }
+          }
+        });
+  }
+
   @Override
   @Transactional
   public <S extends T> S merge(S entity) {
@@ -100,4 +148,18 @@ public class ExtendedJpaRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID>
 
     return result;
   }
+
+  private static int getBatchSize(Session session) {
+    var batchSize = session.getJdbcBatchSize();
+    if (batchSize == null) {
+      batchSize =
+          session
+              .getSessionFactory()
+              .unwrap(SessionFactoryImplementor.class)
+              .getSessionFactoryOptions()
+              .getJdbcBatchSize();
+    }
+
+    return batchSize > 1 ? batchSize : DEFAULT_BATCH_SIZE;
+  }
 }
@@ -0,0 +1,23 @@
+package com.example.common.data.jpa.repository.support;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds the statement parameters of a value.
+ *
+ * @param <T> value type
+ * @see ExtendedJpaRepository#batchInsert(java.util.List, String, StatementBinder,
+ *     java.util.function.ObjLongConsumer)
+ */
+@FunctionalInterface
+public interface StatementBinder<T> {
+  /**
+   * Binds the statement parameters of the value.
+   *
+   * @param ps prepared statement
+   * @param value value to be bound
+   * @throws SQLException if a parameter cannot be bound
+   */
+  void bind(PreparedStatement ps, T value) throws SQLException;
+}
@@ -1,4 +1,14 @@
 package com.example.common.dto;
 
-/** Count result DTO. */
-public record CountResult(long count) {}
+/**
+ * Count result DTO.
+ *
+ * @param count number of objects
+ * @param exact {@code false} if the count is an estimate, e.g. taken from database statistics,
+ *     which can be off by a large margin and lag behind recent changes
+ */
+public record CountResult(long count, boolean exact) {
+  public CountResult(long count) {
+    this(count, true);
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.common.error.exception;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Response status exception for {@link HttpStatus#SERVICE_UNAVAILABLE} responses. */
+public class ServiceUnavailableException extends ResponseStatusException {
+  public ServiceUnavailableException() {
+    this(null);
+  }
+
+  public ServiceUnavailableException(@Nullable String reason) {
+    this(reason, null);
+  }
+
+  public ServiceUnavailableException(@Nullable String reason, @Nullable Throwable cause) {
+    super(HttpStatus.SERVICE_UNAVAILABLE, reason, cause);
+  }
+}
@@ -0,0 +1,179 @@
+package com.example.common.security.jwt;
+
+import com.example.common.error.exception.InternalServerErrorException;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.util.StringUtils;
+
+/**
+ * HS256 {@link JwtEncoder} with a fast path for tokens created by {@link JwtUtils}.
+ *
+ * <p>The fast path uses a pre-encoded header, serializes the claims directly in a fixed order and
+ * signs them with a clone of a pre-initialized {@link Mac}. Its tokens have the same header and
+ * claims as tokens of {@link NimbusJwtEncoder}. A clone is used instead of a thread-local {@code
+ * Mac}, because requests run on virtual threads which are never reused.
+ *
+ * <p>{@link #encode(JwtEncoderParameters)} and tokens with claims not supported by the fast path
+ * are encoded by {@code NimbusJwtEncoder}.
+ */
+public final class HmacJwtEncoder implements JwtEncoder {
+  private static final String ALGORITHM = "HmacSHA256";
+
+  // {"alg":"HS256"}
+  private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9.";
+
+  private static final Set<String> REGISTERED_CLAIMS = JWTClaimsSet.getRegisteredNames();
+  private static final String SCOPE_CLAIM = "scope";
+  private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final SecretKey secretKey;
+  private final Mac mac;
+  private final NimbusJwtEncoder delegate;
+
+  public HmacJwtEncoder(SecretKey secretKey) throws InternalServerErrorException {
+    this.secretKey = secretKey;
+    mac = createMac(secretKey);
+    delegate = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+  }
+
+  @Override
+  public Jwt encode(JwtEncoderParameters parameters) {
+    return delegate.encode(parameters);
+  }
+
+  /**
+   * Checks whether the fast path supports the token.
+   *
+   * @param issuer token issuer
+   * @param subject token subject
+   * @param claims custom claims
+   * @return {@code true} if the issuer and the subject are not blank, all custom claim names are
+   *     unregistered and all values are strings, integers or booleans
+   */
+  static boolean isSupported(String issuer, String subject, Map<String, Object> claims) {
+    if (!StringUtils.hasText(issuer) || !StringUtils.hasText(subject)) {
+      return false;
+    }
+
+    for (var claim : claims.entrySet()) {
+      var name = claim.getKey();
+      var value = claim.getValue();
+      if (REGISTERED_CLAIMS.contains(name)
+          || SCOPE_CLAIM.equals(name)
+          || !(value instanceof String
+              || value instanceof Long
+              || value instanceof Integer
+              || value instanceof Boolean)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Creates a signed token, the token must be {@link #isSupported(String, String, Map) supported}.
+   *
+   * @param issuer token issuer
+   * @param subject token subject
+   * @param scope token scope
+   * @param expiresAt token expiration time
+   * @param claims custom claims
+   * @return created token
+   */
+  String createToken(
+      String issuer, String subject, String scope, Instant expiresAt, Map<String, Object> claims) {
+
+    // Registered claims first, then the custom claims in the order of the map
+    var sb = new StringBuilder(256);
+    sb.append('{');
+    appendClaim(sb, JwtClaimNames.ISS, issuer);
+    sb.append(',');
+    appendClaim(sb, JwtClaimNames.SUB, subject);
+    sb.append(',');
+    appendClaim(sb, JwtClaimNames.EXP, expiresAt.getEpochSecond());
+    sb.append(',');
+    appendClaim(sb, SCOPE_CLAIM, scope);
+    claims.forEach(
+        (name, value) -> {
+          sb.append(',');
+          appendClaim(sb, name, value);
+        });
+    sb.append('}');
+
+    var token = HEADER + BASE64.encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    var signature = getMac().doFinal(token.getBytes(StandardCharsets.US_ASCII));
+    return token + '.' + BASE64.encodeToString(signature);
+  }
+
+  private Mac getMac() {
+    try {
+      return (Mac) mac.clone();
+    } catch (CloneNotSupportedException ex) {
+      return createMac(secretKey);
+    }
+  }
+
+  private static Mac createMac(SecretKey secretKey) throws InternalServerErrorException {
+    try {
+      var mac = Mac.getInstance(ALGORITHM);
+      mac.init(secretKey);
+      return mac;
+    } catch (GeneralSecurityException ex) {
+      throw new InternalServerErrorException("Failed to initialize " + ALGORITHM, ex);
+    }
+  }
+
+  private static void appendClaim(StringBuilder sb, String name, Object value) {
+    appendString(sb, name);
+    sb.append(':');
+    if (value instanceof String s) {
+      appendString(sb, s);
+    } else {
+      sb.append(value);
+    }
+  }
+
+  // Escapes the same characters as Gson with disabled HTML escaping, which is used by Nimbus
+  private static void appendString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (var i = 0; i < value.length(); i++) {
+      var c = value.charAt(i);
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\t' -> sb.append("\\t");
+        case '\b' -> sb.append("\\b");
+        case '\n' -> sb.append("\\n");
+        case '\r' -> sb.append("\\r");
+        case '\f' -> sb.append("\\f");
+        default -> {
+          if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+            sb.append("\\u")
+                .append(HEX_DIGITS[c >> 12])
+                .append(HEX_DIGITS[(c >> 8) & 0xf])
+                .append(HEX_DIGITS[(c >> 4) & 0xf])
+                .append(HEX_DIGITS[c & 0xf]);
+          } else {
+            sb.append(c);
+          }
+        }
+      }
+    }
+    sb.append('"');
+  }
+}
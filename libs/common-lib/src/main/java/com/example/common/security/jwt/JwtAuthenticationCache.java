@@ -0,0 +1,106 @@
+package com.example.common.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Cache of verified bearer tokens.
+ *
+ * <p>Allows skipping the token parsing and signature verification for repeatedly sent tokens.
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are not retained, and expire
+ * together with the token, but not later than the configured maximum time to live.
+ *
+ * <p>Only the decoded {@link Jwt} is cached. Authentications hold request details and are mutable,
+ * so a new authentication is created from the cached token for every request.
+ *
+ * <p>Publishes the cache metrics under the {@code jwt.authentication} name when registered as a
+ * bean.
+ */
+public class JwtAuthenticationCache implements MeterBinder {
+  private static final String CACHE_NAME = "jwt.authentication";
+
+  private final Cache<String, Jwt> cache;
+
+  public JwtAuthenticationCache(long maxSize, Duration maxTtl) {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(maxTtl))
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cached decoded token.
+   *
+   * @param token bearer token
+   * @return decoded token or {@code null} if the token is not cached
+   */
+  public @Nullable Jwt get(String token) {
+    return cache.getIfPresent(hash(token));
+  }
+
+  /**
+   * Caches the verified token.
+   *
+   * @param token bearer token
+   * @param jwt decoded and verified token
+   */
+  public void put(String token, Jwt jwt) {
+    cache.put(hash(token), jwt);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new CaffeineCacheMetrics<>(cache, CACHE_NAME, Tags.empty()).bindTo(registry);
+  }
+
+  private static String hash(String token) {
+    try {
+      var digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private record TokenExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+    @Override
+    public long expireAfterCreate(String key, Jwt value, long currentTime) {
+      var ttl = maxTtl;
+      var expiresAt = value.getExpiresAt();
+      if (expiresAt != null) {
+        var untilExpiration = Duration.between(Instant.now(), expiresAt);
+        if (untilExpiration.compareTo(ttl) < 0) {
+          ttl = untilExpiration.isNegative() ? Duration.ZERO : untilExpiration;
+        }
+      }
+
+      return ttl.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Jwt value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Jwt value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -1,9 +1,9 @@
 package com.example.common.security.jwt;
 
-import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.crypto.SecretKey;
 import lombok.AccessLevel;
@@ -14,26 +14,43 @@ import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class JwtUtils {
   public static String creatToken(
       JwtEncoder encoder, String issuer, String subject, String scope, int ttl) {
+    return creatToken(encoder, issuer, subject, scope, ttl, Map.of());
+  }
+
+  public static String creatToken(
+      JwtEncoder encoder,
+      String issuer,
+      String subject,
+      String scope,
+      int ttl,
+      Map<String, Object> claims) {
+
+    var expiresAt = Instant.now().plus(ttl, ChronoUnit.SECONDS);
+    if (encoder instanceof HmacJwtEncoder hmacEncoder
+        && HmacJwtEncoder.isSupported(issuer, subject, claims)) {
+      return hmacEncoder.createToken(issuer, subject, scope, expiresAt, claims);
+    }
+
     var headers = JwsHeader.with(() -> JwsAlgorithms.HS256).build();
-    var claims =
+    var claimsSet =
         JwtClaimsSet.builder()
             .issuer(issuer)
             .subject(subject)
             .claim("scope", scope)
-            .expiresAt(Instant.now().plus(ttl, ChronoUnit.SECONDS))
+            .expiresAt(expiresAt)
+            .claims(c -> c.putAll(claims))
             .build();
 
-    return encoder.encode(JwtEncoderParameters.from(headers, claims)).getTokenValue();
+    return encoder.encode(JwtEncoderParameters.from(headers, claimsSet)).getTokenValue();
   }
 
   public static JwtEncoder crateEncoder(SecretKey secretKey) {
-    return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+    return new HmacJwtEncoder(secretKey);
   }
 
   public static String authoritiesToScope(Collection<? extends GrantedAuthority> authorities) {
@@ -1,5 +1,6 @@
 package com.example.common.uuid;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -33,4 +34,28 @@ public class UuidUtils {
         .findFirst()
         .orElse(UuidType.UNKNOWN);
   }
+
+  /**
+   * Returns the binary form of the given UUID, as stored in {@code binary(16)} columns.
+   *
+   * @param uuid UUID instance
+   * @return 16 bytes of the UUID in the big-endian order
+   */
+  public static byte[] toBytes(UUID uuid) {
+    return ByteBuffer.allocate(16)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  /**
+   * Returns the UUID of the given binary form, as stored in {@code binary(16)} columns.
+   *
+   * @param bytes 16 bytes of the UUID in the big-endian order
+   * @return UUID instance
+   */
+  public static UUID fromBytes(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
 }
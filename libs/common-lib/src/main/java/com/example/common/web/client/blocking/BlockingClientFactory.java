@@ -1,5 +1,6 @@
 package com.example.common.web.client.blocking;
 
+import com.example.common.web.client.resilience.ClientResilience;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -25,6 +26,17 @@ public interface BlockingClientFactory {
    */
   BlockingClientFactory bearerAuth(Supplier<String> tokenSupplier);
 
+  /**
+   * Prefer the Jackson Smile binary format for responses.
+   *
+   * <p>Sets the {@code Accept} header to {@code application/x-jackson-smile} with a fallback to
+   * JSON, so servers without Smile support and error responses keep working. Requires {@code
+   * jackson-dataformat-smile} on the class path.
+   *
+   * @return this factory
+   */
+  BlockingClientFactory smile();
+
   /**
    * Configure the error type for the ClientResponseException to be thrown when the response status
    * is 4xx or 5xx.
@@ -54,7 +66,12 @@ public interface BlockingClientFactory {
   /** Clone this {@code BlockingClientFactory}. */
   BlockingClientFactory duplicate();
 
-  /** Creates a new blocking HTTP client. */
+  /**
+   * Creates a new blocking HTTP client.
+   *
+   * <p>Hedging, retries and deadline are applied if the interface is annotated with {@link
+   * ClientResilience}.
+   */
   <T> T createClient(Class<T> serviceType);
 
   /** Creates a new {@code BlockingClientFactory}. */
@@ -2,6 +2,7 @@ package com.example.common.web.client.blocking;
 
 import com.example.common.error.exception.ClientResponseException;
 import com.example.common.util.Holder;
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
 import com.example.common.web.service.invoker.RequestParamObjectArgumentResolver;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 final class BlockingClientFactoryImpl implements BlockingClientFactory {
   private static final ParameterizedTypeReference<?> DEFAULT_ERROR_TYPE =
       new ParameterizedTypeReference<Map<String, Object>>() {};
+  private static final String SMILE_ACCEPT = "application/x-jackson-smile, application/json;q=0.9";
 
   private final RestClient.Builder builder;
   private final List<Consumer<HttpServiceProxyFactory.Builder>> factoryCustomizers;
@@ -51,6 +53,12 @@ final class BlockingClientFactoryImpl implements BlockingClientFactory {
     return this;
   }
 
+  @Override
+  public BlockingClientFactory smile() {
+    builder.defaultHeader(HttpHeaders.ACCEPT, SMILE_ACCEPT);
+    return this;
+  }
+
   @Override
   public BlockingClientFactory errorType(ParameterizedTypeReference<?> errorType) {
     var messageConverters = Holder.<List<HttpMessageConverter<?>>>create();
@@ -81,12 +89,19 @@ final class BlockingClientFactoryImpl implements BlockingClientFactory {
 
   @Override
   public <T> T createClient(Class<T> serviceType) {
-    return createFactory().createClient(serviceType);
+    return createFactory(serviceType).createClient(serviceType);
   }
 
-  private HttpServiceProxyFactory createFactory() {
+  private HttpServiceProxyFactory createFactory(Class<?> serviceType) {
+    var clientBuilder = builder;
+    var resiliencePolicy = ClientResiliencePolicy.forType(serviceType);
+    if (resiliencePolicy != null) {
+      clientBuilder =
+          builder.clone().requestInterceptor(new ResilienceInterceptor(resiliencePolicy));
+    }
+
     var factoryBuilder =
-        HttpServiceProxyFactory.builderFor(RestClientAdapter.create(builder.build()));
+        HttpServiceProxyFactory.builderFor(RestClientAdapter.create(clientBuilder.build()));
 
     for (var customizer : factoryCustomizers) {
       customizer.accept(factoryBuilder);
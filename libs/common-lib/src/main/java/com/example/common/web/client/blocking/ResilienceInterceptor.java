@@ -0,0 +1,204 @@
+package com.example.common.web.client.blocking;
+
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Request interceptor applying a {@link ClientResiliencePolicy}.
+ *
+ * <p>Registered as the last interceptor, so that only transport errors are retried and the
+ * round-trip time of the exchange itself is tracked. Requests rejected by the concurrency limit or
+ * the circuit breaker are neither retried nor hedged. Hedged requests and requests with a deadline
+ * are executed on virtual threads, responses of abandoned requests are closed when they arrive.
+ */
+final class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+  private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final ClientResiliencePolicy policy;
+
+  ResilienceInterceptor(ClientResiliencePolicy policy) {
+    this.policy = policy;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+
+    var deadline = policy.deadline();
+    var deadlineNanos = 0L;
+    if (deadline != null) {
+      deadlineNanos = System.nanoTime() + deadline.toNanos();
+      request
+          .getHeaders()
+          .set(
+              ClientResiliencePolicy.DEADLINE_HEADER,
+              String.valueOf(System.currentTimeMillis() + deadline.toMillis()));
+    }
+
+    policy.onCall();
+    var retries = policy.retries(request.getMethod());
+    for (var retry = 0; ; retry++) {
+      try {
+        return hedged(request, body, execution, deadlineNanos);
+      } catch (IOException ex) {
+        if (!retries || ex instanceof DeadlineExceededException || retry >= policy.maxRetries()) {
+          throw ex;
+        }
+
+        var backoff = policy.backoff(retry);
+        if (deadlineNanos != 0 && System.nanoTime() + backoff.toNanos() >= deadlineNanos) {
+          throw ex;
+        }
+
+        if (!policy.tryRetry()) {
+          throw ex;
+        }
+
+        sleep(backoff);
+      }
+    }
+  }
+
+  private ClientHttpResponse hedged(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution, long deadlineNanos)
+      throws IOException {
+
+    var hedgeDelay = policy.hedgeDelay(request.getMethod());
+    if (hedgeDelay == null && deadlineNanos == 0) {
+      return exchange(request, body, execution);
+    }
+
+    var completion = new ExecutorCompletionService<ClientHttpResponse>(EXECUTOR);
+    var pending = new ArrayList<Future<ClientHttpResponse>>(2);
+    var primary = completion.submit(() -> exchange(request, body, execution));
+    pending.add(primary);
+
+    var hedgeNanos = hedgeDelay != null ? System.nanoTime() + hedgeDelay.toNanos() : 0L;
+    Throwable failure = null;
+    try {
+      while (!pending.isEmpty()) {
+        var wait = Long.MAX_VALUE;
+        if (hedgeNanos != 0) {
+          wait = hedgeNanos - System.nanoTime();
+        }
+        if (deadlineNanos != 0) {
+          wait = Math.min(wait, deadlineNanos - System.nanoTime());
+        }
+
+        var done = completion.poll(wait, TimeUnit.NANOSECONDS);
+        if (done == null) {
+          if (hedgeNanos != 0 && System.nanoTime() - hedgeNanos >= 0) {
+            hedgeNanos = 0;
+            policy.onHedgeFired();
+            pending.add(completion.submit(() -> exchange(request, body, execution)));
+            continue;
+          }
+
+          throw new DeadlineExceededException();
+        }
+
+        pending.remove(done);
+        try {
+          var response = done.get();
+          if (done != primary) {
+            policy.onHedgeWon();
+          }
+
+          return response;
+        } catch (ExecutionException ex) {
+          // A failed primary request is not hedged, so that hedging does not double as a retry
+          hedgeNanos = 0;
+          if (failure == null) {
+            failure = ex.getCause();
+          }
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the response");
+    } finally {
+      for (var future : pending) {
+        EXECUTOR.execute(() -> closeWhenDone(future));
+      }
+    }
+
+    throw toIOException(failure);
+  }
+
+  private ClientHttpResponse exchange(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+
+    var permit = policy.acquire();
+    ClientHttpResponse response;
+    try {
+      response = execution.execute(request, body);
+    } catch (IOException | RuntimeException ex) {
+      permit.onError();
+      throw ex;
+    }
+
+    try {
+      permit.onResponse(response.getStatusCode());
+    } catch (IOException | RuntimeException ex) {
+      permit.onError();
+      response.close();
+      throw ex;
+    }
+
+    return response;
+  }
+
+  private static void closeWhenDone(Future<ClientHttpResponse> future) {
+    try {
+      future.get().close();
+    } catch (ExecutionException ex) {
+      // Nothing to close
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static IOException toIOException(@Nullable Throwable ex) {
+    if (ex instanceof IOException ioException) {
+      return ioException;
+    } else if (ex instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    } else if (ex instanceof Error error) {
+      throw error;
+    }
+
+    return new IOException(ex);
+  }
+
+  private static void sleep(Duration duration) throws InterruptedIOException {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a retry");
+    }
+  }
+
+  private static final class DeadlineExceededException extends SocketTimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    DeadlineExceededException() {
+      super("Deadline exceeded");
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.common.web.client.reactive;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Netty HTTP client properties, intended to be nested into the configuration properties of a
+ * downstream client.
+ *
+ * @param maxConnections maximum number of connections in the pool
+ * @param pendingAcquireMaxCount maximum number of requests waiting for a connection
+ * @param pendingAcquireTimeout maximum time to wait for a connection
+ * @param maxIdleTime time after which an idle connection is closed
+ * @param maxLifeTime time after which a connection is closed once released
+ * @param evictionInterval interval at which idle and expired connections are evicted in the
+ *     background, {@code 0} evicts them only on acquire
+ * @param connectTimeout connect timeout
+ * @param responseTimeout maximum time to wait for a response after the request is sent
+ * @param http2 whether to negotiate HTTP/2, falling back to HTTP/1.1
+ * @param metrics whether to publish connection pool and client metrics
+ */
+public record NettyClientProperties(
+    @Positive int maxConnections,
+    @Positive int pendingAcquireMaxCount,
+    @NotNull Duration pendingAcquireTimeout,
+    @NotNull Duration maxIdleTime,
+    @NotNull Duration maxLifeTime,
+    @NotNull Duration evictionInterval,
+    @NotNull Duration connectTimeout,
+    @NotNull Duration responseTimeout,
+    boolean http2,
+    boolean metrics) {}
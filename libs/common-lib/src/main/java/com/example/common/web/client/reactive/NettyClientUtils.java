@@ -1,12 +1,16 @@
 package com.example.common.web.client.reactive;
 
+import io.netty.channel.ChannelOption;
 import io.netty.handler.logging.LogLevel;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.transport.logging.AdvancedByteBufFormat;
 
 /** Netty client utils */
@@ -26,4 +30,71 @@ public class NettyClientUtils {
       builder.clientConnector(new ReactorClientHttpConnector(httpClient));
     };
   }
+
+  /**
+   * Creates a connection pool.
+   *
+   * <p>The pool must be disposed by the caller. Pool metrics, if enabled, are published to the
+   * global Micrometer registry under the {@code reactor.netty.connection.provider} prefix tagged
+   * with the pool name.
+   *
+   * @param name pool name
+   * @param properties client properties
+   * @return created connection pool
+   */
+  public static ConnectionProvider connectionProvider(
+      String name, NettyClientProperties properties) {
+
+    var builder =
+        ConnectionProvider.builder(name)
+            .maxConnections(properties.maxConnections())
+            .pendingAcquireMaxCount(properties.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+            .maxIdleTime(properties.maxIdleTime())
+            .maxLifeTime(properties.maxLifeTime())
+            .metrics(properties.metrics());
+
+    if (!properties.evictionInterval().isZero()) {
+      builder.evictInBackground(properties.evictionInterval());
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Creates a Netty {@code HttpClient} using the given connection pool.
+   *
+   * @param connectionProvider connection pool
+   * @param properties client properties
+   * @return created client
+   */
+  public static HttpClient httpClient(
+      ConnectionProvider connectionProvider, NettyClientProperties properties) {
+
+    var protocols =
+        properties.http2()
+            ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+            : new HttpProtocol[] {HttpProtocol.HTTP11};
+
+    return HttpClient.create(connectionProvider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+        .responseTimeout(properties.responseTimeout())
+        .protocol(protocols)
+        .metrics(properties.metrics(), Function.identity());
+  }
+
+  /**
+   * Returns the {@code WebClient.Builder} customizer that configures Netty {@code HttpClient} using
+   * the given connection pool.
+   *
+   * @param connectionProvider connection pool
+   * @param properties client properties
+   */
+  public static Consumer<WebClient.Builder> connector(
+      ConnectionProvider connectionProvider, NettyClientProperties properties) {
+
+    return builder ->
+        builder.clientConnector(
+            new ReactorClientHttpConnector(httpClient(connectionProvider, properties)));
+  }
 }
@@ -1,11 +1,13 @@
 package com.example.common.web.client.reactive;
 
+import com.example.common.web.client.resilience.ClientResilience;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.netty.resources.ConnectionProvider;
 
 /** The factory interface for reactive HTTP clients. */
 public interface ReactiveClientFactory {
@@ -17,6 +19,17 @@ public interface ReactiveClientFactory {
    */
   ReactiveClientFactory builder(Consumer<WebClient.Builder> configurer);
 
+  /**
+   * Configure the Netty {@code HttpClient} using the given connection pool.
+   *
+   * @param connectionProvider connection pool, see {@link
+   *     NettyClientUtils#connectionProvider(String, NettyClientProperties)}
+   * @param properties client properties
+   * @return this factory
+   */
+  ReactiveClientFactory connector(
+      ConnectionProvider connectionProvider, NettyClientProperties properties);
+
   /**
    * Enables bearer authentication.
    *
@@ -25,6 +38,17 @@ public interface ReactiveClientFactory {
    */
   ReactiveClientFactory bearerAuth(Supplier<String> tokenSupplier);
 
+  /**
+   * Prefer the Jackson Smile binary format for responses.
+   *
+   * <p>Sets the {@code Accept} header to {@code application/x-jackson-smile} with a fallback to
+   * JSON, so servers without Smile support and error responses keep working. Requires {@code
+   * jackson-dataformat-smile} on the class path.
+   *
+   * @return this factory
+   */
+  ReactiveClientFactory smile();
+
   /**
    * Configure the error type for the ClientResponseException to be thrown when the response status
    * is 4xx or 5xx.
@@ -54,7 +78,12 @@ public interface ReactiveClientFactory {
   /** Clone this {@code ReactiveClientFactory}. */
   ReactiveClientFactory duplicate();
 
-  /** Creates a new reactive HTTP client. */
+  /**
+   * Creates a new reactive HTTP client.
+   *
+   * <p>Hedging, retries and deadline are applied if the interface is annotated with {@link
+   * ClientResilience}.
+   */
   <T> T createClient(Class<T> serviceType);
 
   /** Creates a new {@code ReactiveClientFactory}. */
@@ -1,6 +1,7 @@
 package com.example.common.web.client.reactive;
 
 import com.example.common.error.exception.ClientResponseException;
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
 import com.example.common.web.service.invoker.RequestParamObjectArgumentResolver;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,11 +15,13 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
 /** Implementation class for {@link ReactiveClientFactory} */
 final class ReactiveClientFactoryImpl implements ReactiveClientFactory {
   private static final ParameterizedTypeReference<?> defaultErrorType =
       new ParameterizedTypeReference<Map<String, Object>>() {};
+  private static final String SMILE_ACCEPT = "application/x-jackson-smile, application/json;q=0.9";
 
   private final WebClient.Builder builder;
   private final List<Consumer<HttpServiceProxyFactory.Builder>> factoryCustomizers;
@@ -39,6 +42,13 @@ final class ReactiveClientFactoryImpl implements ReactiveClientFactory {
     return this;
   }
 
+  @Override
+  public ReactiveClientFactory connector(
+      ConnectionProvider connectionProvider, NettyClientProperties properties) {
+
+    return builder(NettyClientUtils.connector(connectionProvider, properties));
+  }
+
   @Override
   public ReactiveClientFactory bearerAuth(Supplier<String> tokenSupplier) {
     builder.filter(
@@ -50,6 +60,12 @@ final class ReactiveClientFactoryImpl implements ReactiveClientFactory {
     return this;
   }
 
+  @Override
+  public ReactiveClientFactory smile() {
+    builder.defaultHeader(HttpHeaders.ACCEPT, SMILE_ACCEPT);
+    return this;
+  }
+
   @Override
   public ReactiveClientFactory errorType(ParameterizedTypeReference<?> errorType) {
     builder.filter(errorFilter(errorType));
@@ -76,12 +92,18 @@ final class ReactiveClientFactoryImpl implements ReactiveClientFactory {
 
   @Override
   public <T> T createClient(Class<T> serviceType) {
-    return createFactory().createClient(serviceType);
+    return createFactory(serviceType).createClient(serviceType);
   }
 
-  private HttpServiceProxyFactory createFactory() {
+  private HttpServiceProxyFactory createFactory(Class<?> serviceType) {
+    var clientBuilder = builder;
+    var resiliencePolicy = ClientResiliencePolicy.forType(serviceType);
+    if (resiliencePolicy != null) {
+      clientBuilder = builder.clone().filter(new ResilienceFilter(resiliencePolicy));
+    }
+
     var factoryBuilder =
-        HttpServiceProxyFactory.builderFor(WebClientAdapter.create(builder.build()));
+        HttpServiceProxyFactory.builderFor(WebClientAdapter.create(clientBuilder.build()));
 
     for (var customizer : factoryCustomizers) {
       customizer.accept(factoryBuilder);
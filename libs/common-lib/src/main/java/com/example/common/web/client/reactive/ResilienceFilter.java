@@ -0,0 +1,118 @@
+package com.example.common.web.client.reactive;
+
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
+import java.util.NoSuchElementException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Exchange filter applying a {@link ClientResiliencePolicy}.
+ *
+ * <p>Registered as the last filter, so that only transport errors are retried and the round-trip
+ * time of the exchange itself is tracked. Requests rejected by the concurrency limit or the circuit
+ * breaker are neither retried nor hedged.
+ */
+final class ResilienceFilter implements ExchangeFilterFunction {
+  private final ClientResiliencePolicy policy;
+
+  ResilienceFilter(ClientResiliencePolicy policy) {
+    this.policy = policy;
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    var deadline = policy.deadline();
+    if (deadline == null) {
+      return retried(request, next);
+    }
+
+    return Mono.defer(
+        () -> {
+          var deadlineRequest =
+              ClientRequest.from(request)
+                  .header(
+                      ClientResiliencePolicy.DEADLINE_HEADER,
+                      String.valueOf(System.currentTimeMillis() + deadline.toMillis()))
+                  .build();
+
+          return retried(deadlineRequest, next).timeout(deadline);
+        });
+  }
+
+  private Mono<ClientResponse> retried(ClientRequest request, ExchangeFunction next) {
+    var call = Mono.defer(() -> hedged(request, next));
+    var retried =
+        policy.retries(request.method())
+            ? call.retryWhen(
+                Retry.from(
+                    signals ->
+                        signals.concatMap(
+                            signal -> {
+                              var failure = signal.failure();
+                              if (!(failure instanceof WebClientRequestException)
+                                  || signal.totalRetries() >= policy.maxRetries()
+                                  || !policy.tryRetry()) {
+                                return Mono.error(failure);
+                              }
+
+                              return Mono.delay(policy.backoff((int) signal.totalRetries()));
+                            })))
+            : call;
+
+    // Deposited once per call, outside of the resubscriptions of retries
+    return Mono.defer(
+        () -> {
+          policy.onCall();
+          return retried;
+        });
+  }
+
+  private Mono<ClientResponse> hedged(ClientRequest request, ExchangeFunction next) {
+    var delay = policy.hedgeDelay(request.method());
+    if (delay == null) {
+      return exchange(request, next);
+    }
+
+    // A failed primary request is not hedged, so that hedging does not double as a retry
+    var primaryFailed = Sinks.<Throwable>one();
+    var primary = exchange(request, next).doOnError(primaryFailed::tryEmitValue);
+    var hedge =
+        Mono.delay(delay)
+            .takeUntilOther(primaryFailed.asMono())
+            .flatMap(
+                tick -> {
+                  policy.onHedgeFired();
+                  return exchange(request, next).doOnNext(response -> policy.onHedgeWon());
+                });
+
+    // Reports the error of the primary request instead of the aggregate error. A response of the
+    // losing request arriving together with the winning one is discarded, its body is released so
+    // that the connection is returned to the pool
+    return Mono.firstWithValue(primary, hedge)
+        .onErrorMap(
+            NoSuchElementException.class,
+            ex -> {
+              var cause = ex.getCause();
+              return cause != null ? Exceptions.unwrapMultiple(cause).getFirst() : ex;
+            })
+        .doOnDiscard(ClientResponse.class, response -> response.releaseBody().subscribe());
+  }
+
+  private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next) {
+    return Mono.defer(
+        () -> {
+          var permit = policy.acquire();
+          return next.exchange(request)
+              .doOnNext(response -> permit.onResponse(response.statusCode()))
+              .doOnError(ex -> permit.onError())
+              .doOnCancel(permit::onCancel);
+        });
+  }
+}
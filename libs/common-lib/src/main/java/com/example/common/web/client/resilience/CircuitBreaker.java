@@ -0,0 +1,124 @@
+package com.example.common.web.client.resilience;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>The circuit is opened when the failure rate of the recent requests reaches the threshold.
+ * After the open time a limited number of trial requests is let through, the circuit is closed if
+ * all of them succeed and opened again otherwise.
+ */
+final class CircuitBreaker {
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final double failureRateThreshold;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  private final boolean[] window;
+  private State state = State.CLOSED;
+  private int calls;
+  private int failures;
+  private int next;
+  private long openUntil;
+  private int trialPermits;
+  private int trialSuccesses;
+
+  CircuitBreaker(
+      double failureRateThreshold,
+      int slidingWindowSize,
+      int minimumCalls,
+      long openNanos,
+      int halfOpenCalls) {
+
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+    this.openNanos = openNanos;
+    this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+    window = new boolean[slidingWindowSize];
+  }
+
+  /**
+   * Acquires a permission to send a request.
+   *
+   * @return {@code true} if the request is allowed
+   */
+  synchronized boolean tryAcquire() {
+    if (state == State.OPEN) {
+      if (System.nanoTime() - openUntil < 0) {
+        return false;
+      }
+
+      state = State.HALF_OPEN;
+      trialPermits = halfOpenCalls;
+      trialSuccesses = 0;
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (trialPermits == 0) {
+        return false;
+      }
+
+      trialPermits--;
+    }
+
+    return true;
+  }
+
+  /**
+   * Records the outcome of an allowed request.
+   *
+   * @param failure whether the request failed
+   */
+  synchronized void onResult(boolean failure) {
+    switch (state) {
+      case CLOSED -> {
+        if (calls == window.length) {
+          failures -= window[next] ? 1 : 0;
+        } else {
+          calls++;
+        }
+
+        window[next] = failure;
+        failures += failure ? 1 : 0;
+        next = (next + 1) % window.length;
+
+        if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+          open();
+        }
+      }
+      case HALF_OPEN -> {
+        if (failure) {
+          open();
+        } else if (++trialSuccesses == halfOpenCalls) {
+          state = State.CLOSED;
+          calls = 0;
+          failures = 0;
+          next = 0;
+        }
+      }
+      case OPEN -> {
+        // Outcome of a request sent before the circuit was opened
+      }
+    }
+  }
+
+  /** Returns the permission of a cancelled request. */
+  synchronized void onIgnored() {
+    if (state == State.HALF_OPEN) {
+      trialPermits++;
+    }
+  }
+
+  synchronized State state() {
+    return state;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openUntil = System.nanoTime() + openNanos;
+  }
+}
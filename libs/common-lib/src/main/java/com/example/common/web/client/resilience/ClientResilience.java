@@ -0,0 +1,91 @@
+package com.example.common.web.client.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures latency-oriented resilience of an HTTP client interface.
+ *
+ * <p>Applied by the {@code BlockingClientFactory} and {@code ReactiveClientFactory} to clients
+ * created for the annotated interface:
+ *
+ * <ul>
+ *   <li>{@code GET} requests are hedged, a second request is sent if the first one has not answered
+ *       within the observed {@link #hedgeQuantile() latency quantile}, the first response wins;
+ *   <li>requests with idempotent methods failed with I/O errors are retried with jittered
+ *       exponential backoff, as long as the retry budget allows it;
+ *   <li>each call is limited by the {@link #deadlineMillis() deadline}, which is propagated to the
+ *       server in the {@value ClientResiliencePolicy#DEADLINE_HEADER} header as epoch milliseconds;
+ *   <li>concurrent requests are limited by an {@link #adaptiveConcurrency() adaptive limit}, which
+ *       shrinks when the round-trip time grows over the unloaded one;
+ *   <li>requests are stopped by a {@link #circuitBreaker() circuit breaker} when too many of the
+ *       recent ones failed.
+ * </ul>
+ *
+ * <p>Requests over the concurrency limit or with an open circuit are rejected immediately with a
+ * {@code ServiceUnavailableException}, so that overload is shed instead of queued.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClientResilience {
+  /** Whether {@code GET} requests are hedged. */
+  boolean hedge() default false;
+
+  /** Latency quantile after which a request is hedged. */
+  double hedgeQuantile() default 0.95;
+
+  /** Minimum delay before a request is hedged, in milliseconds. */
+  long hedgeMinDelayMillis() default 10;
+
+  /** Maximum number of retries of a call, {@code 0} disables retries. */
+  int maxRetries() default 0;
+
+  /** Base delay of the exponential backoff between retries, in milliseconds. */
+  long retryBackoffMillis() default 50;
+
+  /** Maximum delay between retries, in milliseconds. */
+  long retryMaxBackoffMillis() default 1000;
+
+  /** Retries allowed per request on average, on top of {@link #minRetriesPerSecond()}. */
+  double retryBudgetRatio() default 0.1;
+
+  /** Retries allowed per second regardless of the {@link #retryBudgetRatio() ratio}. */
+  int minRetriesPerSecond() default 10;
+
+  /** Deadline of a call including retries, in milliseconds, {@code 0} disables the deadline. */
+  long deadlineMillis() default 0;
+
+  /** Whether concurrent requests are limited by an adaptive limit. */
+  boolean adaptiveConcurrency() default false;
+
+  /** Initial concurrency limit. */
+  int initialConcurrency() default 20;
+
+  /** Minimum concurrency limit. */
+  int minConcurrency() default 1;
+
+  /** Maximum concurrency limit. */
+  int maxConcurrency() default 200;
+
+  /** Whether requests are stopped by a circuit breaker. */
+  boolean circuitBreaker() default false;
+
+  /** Failure rate of the recent requests, after which the circuit is opened. */
+  double failureRateThreshold() default 0.5;
+
+  /** Number of the recent requests to calculate the failure rate of. */
+  int slidingWindowSize() default 100;
+
+  /** Minimum number of requests before the failure rate is calculated. */
+  int minimumCalls() default 20;
+
+  /** Time the circuit stays open, in milliseconds. */
+  long openMillis() default 5000;
+
+  /** Number of trial requests in the half-open state. */
+  int halfOpenCalls() default 5;
+}
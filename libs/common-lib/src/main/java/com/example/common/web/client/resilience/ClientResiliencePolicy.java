@@ -0,0 +1,318 @@
+package com.example.common.web.client.resilience;
+
+import com.example.common.error.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Runtime state of the {@link ClientResilience} configuration of a client.
+ *
+ * <p>Tracks the latency quantile for hedging, the retry budget, the concurrency limit and the
+ * circuit breaker of the client. Reports the {@code http.client.hedges}, {@code
+ * http.client.retries} and {@code http.client.rejections} counters and the {@code
+ * http.client.concurrency.limit}, {@code http.client.concurrency.in.flight} and {@code
+ * http.client.circuit.open} gauges tagged with the client name if Micrometer is present.
+ */
+public final class ClientResiliencePolicy {
+  /** Header with the deadline of the call, in epoch milliseconds. */
+  public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+  private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+      Set.of(
+          HttpMethod.GET,
+          HttpMethod.HEAD,
+          HttpMethod.OPTIONS,
+          HttpMethod.TRACE,
+          HttpMethod.PUT,
+          HttpMethod.DELETE);
+
+  private static final boolean MICROMETER_PRESENT =
+      ClassUtils.isPresent(
+          "io.micrometer.core.instrument.Metrics", ClientResiliencePolicy.class.getClassLoader());
+
+  private final ClientResilience configuration;
+  private final LatencyTracker latencyTracker;
+  private final RetryBudget retryBudget;
+  private final @Nullable ConcurrencyLimiter concurrencyLimiter;
+  private final @Nullable CircuitBreaker circuitBreaker;
+  private final @Nullable ResilienceMetrics metrics;
+
+  private ClientResiliencePolicy(String name, ClientResilience configuration) {
+    this.configuration = configuration;
+    latencyTracker = new LatencyTracker(configuration.hedgeQuantile());
+    retryBudget =
+        new RetryBudget(configuration.retryBudgetRatio(), configuration.minRetriesPerSecond());
+    concurrencyLimiter =
+        configuration.adaptiveConcurrency()
+            ? new ConcurrencyLimiter(
+                configuration.initialConcurrency(),
+                configuration.minConcurrency(),
+                configuration.maxConcurrency())
+            : null;
+    circuitBreaker =
+        configuration.circuitBreaker()
+            ? new CircuitBreaker(
+                configuration.failureRateThreshold(),
+                configuration.slidingWindowSize(),
+                configuration.minimumCalls(),
+                Duration.ofMillis(configuration.openMillis()).toNanos(),
+                configuration.halfOpenCalls())
+            : null;
+    metrics =
+        MICROMETER_PRESENT ? new ResilienceMetrics(name, concurrencyLimiter, circuitBreaker) : null;
+  }
+
+  /**
+   * Returns the policy for the given client interface.
+   *
+   * @param serviceType client interface
+   * @return policy, or {@code null} if the interface is not annotated with {@link ClientResilience}
+   */
+  public static @Nullable ClientResiliencePolicy forType(Class<?> serviceType) {
+    var configuration = serviceType.getAnnotation(ClientResilience.class);
+    return configuration != null
+        ? new ClientResiliencePolicy(serviceType.getSimpleName(), configuration)
+        : null;
+  }
+
+  /**
+   * Returns the delay after which a request is hedged.
+   *
+   * @param method request method
+   * @return hedge delay, or {@code null} if the request must not be hedged
+   */
+  public @Nullable Duration hedgeDelay(HttpMethod method) {
+    if (!configuration.hedge() || !HttpMethod.GET.equals(method)) {
+      return null;
+    }
+
+    var quantile = latencyTracker.quantileNanos();
+    if (quantile < 0) {
+      return null;
+    }
+
+    return Duration.ofNanos(
+        Math.max(quantile, Duration.ofMillis(configuration.hedgeMinDelayMillis()).toNanos()));
+  }
+
+  /**
+   * Acquires a permit to send a request.
+   *
+   * <p>The permit must be completed with the outcome of the request.
+   *
+   * @return permit
+   * @throws ServiceUnavailableException if the circuit is open or the concurrency limit is reached
+   */
+  public Permit acquire() throws ServiceUnavailableException {
+    if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+      if (metrics != null) {
+        metrics.circuitRejections.increment();
+      }
+
+      throw new ServiceUnavailableException("Circuit breaker is open");
+    }
+
+    if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+      if (circuitBreaker != null) {
+        circuitBreaker.onIgnored();
+      }
+      if (metrics != null) {
+        metrics.limitRejections.increment();
+      }
+
+      throw new ServiceUnavailableException("Concurrency limit is reached");
+    }
+
+    return new Permit();
+  }
+
+  /** Records that a hedged request was sent. */
+  public void onHedgeFired() {
+    if (metrics != null) {
+      metrics.hedgesFired.increment();
+    }
+  }
+
+  /** Records that a hedged request answered first. */
+  public void onHedgeWon() {
+    if (metrics != null) {
+      metrics.hedgesWon.increment();
+    }
+  }
+
+  /**
+   * Returns whether requests with the given method can be retried.
+   *
+   * @param method request method
+   * @return {@code true} if the method is idempotent and retries are enabled
+   */
+  public boolean retries(HttpMethod method) {
+    return configuration.maxRetries() > 0 && IDEMPOTENT_METHODS.contains(method);
+  }
+
+  /**
+   * Returns the maximum number of retries of a call.
+   *
+   * @return maximum number of retries
+   */
+  public int maxRetries() {
+    return configuration.maxRetries();
+  }
+
+  /** Records a call in the retry budget. */
+  public void onCall() {
+    retryBudget.onRequest();
+  }
+
+  /**
+   * Withdraws a retry from the retry budget.
+   *
+   * @return {@code true} if the retry is allowed
+   */
+  public boolean tryRetry() {
+    var allowed = retryBudget.tryRetry();
+    if (metrics != null) {
+      (allowed ? metrics.retriesAllowed : metrics.retriesRejected).increment();
+    }
+
+    return allowed;
+  }
+
+  /**
+   * Returns the jittered exponential backoff before a retry.
+   *
+   * @param retry zero-based retry number
+   * @return backoff delay
+   */
+  public Duration backoff(int retry) {
+    var max = configuration.retryMaxBackoffMillis();
+    var delay = Math.min(max, configuration.retryBackoffMillis() << Math.min(retry, 20));
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(delay / 2, delay + 1));
+  }
+
+  /**
+   * Returns the deadline of a call.
+   *
+   * @return deadline, or {@code null} if calls have no deadline
+   */
+  public @Nullable Duration deadline() {
+    var millis = configuration.deadlineMillis();
+    return millis > 0 ? Duration.ofMillis(millis) : null;
+  }
+
+  /** Permit to send a request, tracks the round-trip time and the outcome of the request. */
+  public final class Permit {
+    private final long start = System.nanoTime();
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private Permit() {}
+
+    /**
+     * Completes the permit with a response.
+     *
+     * @param status response status
+     */
+    public void onResponse(HttpStatusCode status) {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+
+      var rtt = System.nanoTime() - start;
+      latencyTracker.record(rtt);
+      if (concurrencyLimiter != null) {
+        // Only rejections signal overload, other server errors are ordinary samples
+        if (status.value() == 429 || status.value() == 503) {
+          concurrencyLimiter.onDropped();
+        } else {
+          concurrencyLimiter.onSample(rtt);
+        }
+      }
+      if (circuitBreaker != null) {
+        circuitBreaker.onResult(status.is5xxServerError());
+      }
+    }
+
+    /** Completes the permit with a transport error. */
+    public void onError() {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+
+      if (concurrencyLimiter != null) {
+        concurrencyLimiter.onDropped();
+      }
+      if (circuitBreaker != null) {
+        circuitBreaker.onResult(true);
+      }
+    }
+
+    /** Completes the permit of a cancelled request. */
+    public void onCancel() {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+
+      if (concurrencyLimiter != null) {
+        concurrencyLimiter.onIgnored();
+      }
+      if (circuitBreaker != null) {
+        circuitBreaker.onIgnored();
+      }
+    }
+  }
+
+  private static final class ResilienceMetrics {
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter retriesAllowed;
+    private final Counter retriesRejected;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    ResilienceMetrics(
+        String name,
+        @Nullable ConcurrencyLimiter concurrencyLimiter,
+        @Nullable CircuitBreaker circuitBreaker) {
+
+      var registry = Metrics.globalRegistry;
+      hedgesFired = registry.counter("http.client.hedges", "client", name, "result", "fired");
+      hedgesWon = registry.counter("http.client.hedges", "client", name, "result", "won");
+      retriesAllowed = registry.counter("http.client.retries", "client", name, "result", "allowed");
+      retriesRejected =
+          registry.counter("http.client.retries", "client", name, "result", "rejected");
+      limitRejections =
+          registry.counter("http.client.rejections", "client", name, "reason", "limit");
+      circuitRejections =
+          registry.counter("http.client.rejections", "client", name, "reason", "circuit");
+
+      if (concurrencyLimiter != null) {
+        Gauge.builder("http.client.concurrency.limit", concurrencyLimiter, l -> l.limit())
+            .tag("client", name)
+            .strongReference(true)
+            .register(registry);
+        Gauge.builder("http.client.concurrency.in.flight", concurrencyLimiter, l -> l.inFlight())
+            .tag("client", name)
+            .strongReference(true)
+            .register(registry);
+      }
+      if (circuitBreaker != null) {
+        Gauge.builder(
+                "http.client.circuit.open",
+                circuitBreaker,
+                b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+            .tag("client", name)
+            .strongReference(true)
+            .register(registry);
+      }
+    }
+  }
+}
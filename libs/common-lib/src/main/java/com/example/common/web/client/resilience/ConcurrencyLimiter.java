@@ -0,0 +1,93 @@
+package com.example.common.web.client.resilience;
+
+/**
+ * Adaptive concurrency limit in the style of TCP Vegas.
+ *
+ * <p>Estimates the queue at the server from the ratio of the unloaded round-trip time to the
+ * measured one. The limit grows while the estimated queue is short and shrinks when it is long or
+ * when requests are dropped. The unloaded round-trip time is the minimum measured one, which is
+ * periodically forgotten to follow changes of the server.
+ */
+final class ConcurrencyLimiter {
+  private static final int ALPHA = 3;
+  private static final int BETA = 6;
+  private static final int PROBE_INTERVAL = 1000;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private double limit;
+  private int inFlight;
+  private long noLoadRtt = Long.MAX_VALUE;
+  private int samples;
+
+  ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Acquires a request slot.
+   *
+   * @return {@code true} if the request is within the limit
+   */
+  synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      return false;
+    }
+
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Releases the slot of a completed request.
+   *
+   * @param rttNanos round-trip time in nanoseconds
+   */
+  synchronized void onSample(long rttNanos) {
+    var appLimited = inFlight * 2 < limit;
+    inFlight--;
+
+    if (++samples >= PROBE_INTERVAL) {
+      samples = 0;
+      noLoadRtt = rttNanos;
+    } else {
+      noLoadRtt = Math.min(noLoadRtt, rttNanos);
+    }
+
+    var log = Math.max(1, Math.log10(limit));
+    var queue = limit * (1 - (double) noLoadRtt / Math.max(rttNanos, 1));
+    if (queue <= ALPHA * log) {
+      // Do not grow the limit while it is not reached
+      if (!appLimited) {
+        setLimit(limit + log);
+      }
+    } else if (queue >= BETA * log) {
+      setLimit(limit - log);
+    }
+  }
+
+  /** Releases the slot of a dropped request. */
+  synchronized void onDropped() {
+    inFlight--;
+    setLimit(limit * 0.9);
+  }
+
+  /** Releases the slot of a cancelled request. */
+  synchronized void onIgnored() {
+    inFlight--;
+  }
+
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  private void setLimit(double limit) {
+    this.limit = Math.clamp(limit, minLimit, maxLimit);
+  }
+}
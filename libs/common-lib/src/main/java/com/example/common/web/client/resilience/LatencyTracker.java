@@ -0,0 +1,52 @@
+package com.example.common.web.client.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Tracks a latency quantile over a sliding window of the most recent samples.
+ *
+ * <p>The quantile is recomputed periodically rather than on every sample, so recording is cheap.
+ */
+final class LatencyTracker {
+  private static final int WINDOW_SIZE = 1024;
+  private static final int MIN_SAMPLES = 32;
+  private static final int UPDATE_INTERVAL = 64;
+
+  private final double quantile;
+  private final long[] samples = new long[WINDOW_SIZE];
+  private int count;
+  private int next;
+  private int sinceUpdate;
+  private long quantileNanos = -1;
+
+  LatencyTracker(double quantile) {
+    this.quantile = quantile;
+  }
+
+  /**
+   * Records a latency sample.
+   *
+   * @param nanos latency in nanoseconds
+   */
+  synchronized void record(long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % WINDOW_SIZE;
+    count = Math.min(count + 1, WINDOW_SIZE);
+
+    if (++sinceUpdate >= UPDATE_INTERVAL || count == MIN_SAMPLES) {
+      var sorted = Arrays.copyOf(samples, count);
+      Arrays.sort(sorted);
+      quantileNanos = sorted[Math.max((int) Math.ceil(quantile * count) - 1, 0)];
+      sinceUpdate = 0;
+    }
+  }
+
+  /**
+   * Returns the latency quantile.
+   *
+   * @return quantile in nanoseconds, or {@code -1} until enough samples are recorded
+   */
+  synchronized long quantileNanos() {
+    return count >= MIN_SAMPLES ? quantileNanos : -1;
+  }
+}
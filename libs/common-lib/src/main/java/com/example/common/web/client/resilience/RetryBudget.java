@@ -0,0 +1,55 @@
+package com.example.common.web.client.resilience;
+
+/**
+ * Limits retries to a ratio of requests, so that retries cannot multiply the load of a failing
+ * server.
+ *
+ * <p>Every request deposits {@code ratio} of a retry, every retry withdraws one. A minimum number
+ * of retries per second is always allowed, so that clients with low traffic can still retry.
+ */
+final class RetryBudget {
+  private static final long SECOND_NANOS = 1_000_000_000L;
+
+  private final double ratio;
+  private final int minPerSecond;
+  private final double maxBalance;
+  private double balance;
+  private long secondStart = System.nanoTime();
+  private int minUsed;
+
+  RetryBudget(double ratio, int minPerSecond) {
+    this.ratio = ratio;
+    this.minPerSecond = minPerSecond;
+    maxBalance = Math.max(ratio * 100, 1);
+  }
+
+  /** Deposits a request. */
+  synchronized void onRequest() {
+    balance = Math.min(balance + ratio, maxBalance);
+  }
+
+  /**
+   * Withdraws a retry.
+   *
+   * @return {@code true} if the retry is allowed
+   */
+  synchronized boolean tryRetry() {
+    var now = System.nanoTime();
+    if (now - secondStart >= SECOND_NANOS) {
+      secondStart = now;
+      minUsed = 0;
+    }
+
+    if (minUsed < minPerSecond) {
+      minUsed++;
+      return true;
+    }
+
+    if (balance >= 1) {
+      balance -= 1;
+      return true;
+    }
+
+    return false;
+  }
+}
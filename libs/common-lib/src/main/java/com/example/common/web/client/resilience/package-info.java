@@ -0,0 +1,4 @@
+@NullMarked
+package com.example.common.web.client.resilience;
+
+import org.jspecify.annotations.NullMarked;
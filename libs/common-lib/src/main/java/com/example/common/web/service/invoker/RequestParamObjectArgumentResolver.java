@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceLoader;
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.MethodParameter;
 import org.springframework.util.Assert;
@@ -15,9 +16,27 @@ import org.springframework.web.service.invoker.HttpServiceArgumentResolver;
  * Argument resolver for arguments annotated with {@link RequestParamObject @RequestObjectParam}
  * annotation.
  *
+ * <p>Records are written by a {@link RequestParamObjectBinder binder} generated at compile time, if
+ * registered, or through a {@link RequestParamObjectPlan precompiled plan}. Other objects are
+ * converted into a Jackson tree first.
+ *
  * <p>Throws {@link IllegalArgumentException} if resoling fails.
  */
 public class RequestParamObjectArgumentResolver implements HttpServiceArgumentResolver {
+  @SuppressWarnings("unchecked")
+  private static final Class<RequestParamObjectBinder<?>> BINDER_TYPE =
+      (Class<RequestParamObjectBinder<?>>) (Class<?>) RequestParamObjectBinder.class;
+
+  // Binders are looked up through the class loader of the argument type, so that binders of types
+  // loaded by other class loaders are found and do not keep those class loaders reachable
+  private static final ClassValue<Optional<RequestParamObjectBinder<?>>> BINDERS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<RequestParamObjectBinder<?>> computeValue(Class<?> type) {
+          return loadBinder(type);
+        }
+      };
+
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   @Override
@@ -46,15 +65,67 @@ public class RequestParamObjectArgumentResolver implements HttpServiceArgumentRe
       argument = opt.get();
     }
 
+    var binder = BINDERS.get(argument.getClass());
+    if (binder.isPresent()) {
+      bind(binder.get(), argument, requestValues);
+      return true;
+    }
+
+    var plan = RequestParamObjectPlan.forType(argument.getClass());
+    if (plan.isPresent()) {
+      plan.get().write(argument, requestValues);
+      return true;
+    }
+
+    if (!writeTree(objectMapper, argument, requestValues)) {
+      throw new IllegalArgumentException("Parameter " + toString(parameter) + " must be object");
+    }
+
+    return true;
+  }
+
+  /**
+   * Writes the argument as request parameters through its Jackson tree.
+   *
+   * <p>This is the reference behavior, generated binders and precompiled plans write the same
+   * parameters.
+   *
+   * @param objectMapper object mapper to convert the argument with
+   * @param argument argument to write
+   * @param requestValues request values to add parameters to
+   * @return {@code false} if the argument is not converted to an object, nothing is written then
+   */
+  public static boolean writeTree(
+      ObjectMapper objectMapper, Object argument, HttpRequestValues.Builder requestValues) {
     var node = objectMapper.valueToTree(argument);
     if (!node.isObject()) {
-      throw new IllegalArgumentException("Parameter " + toString(parameter) + " must be object");
+      return false;
     }
 
     node.fields().forEachRemaining(field -> addField(field, "", false, requestValues));
     return true;
   }
 
+  private static Optional<RequestParamObjectBinder<?>> loadBinder(Class<?> type) {
+    // Generated binders are named after their types, only the matching provider is instantiated
+    var prefix = type.getPackageName().isEmpty() ? "" : type.getPackageName() + ".";
+    var binderName =
+        prefix + type.getName().substring(prefix.length()).replace('$', '_') + "ParamBinder";
+
+    return ServiceLoader.load(BINDER_TYPE, type.getClassLoader()).stream()
+        .filter(provider -> provider.type().getName().equals(binderName))
+        .map(ServiceLoader.Provider::get)
+        .filter(binder -> binder.type() == type)
+        .findFirst();
+  }
+
+  private static <T> void bind(
+      RequestParamObjectBinder<T> binder,
+      Object argument,
+      HttpRequestValues.Builder requestValues) {
+    binder.bind(binder.type().cast(argument), requestValues);
+  }
+
   private static String toString(MethodParameter parameter) {
     return "["
         + parameter.getParameterIndex()
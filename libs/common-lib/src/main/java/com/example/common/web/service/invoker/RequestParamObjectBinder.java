@@ -0,0 +1,30 @@
+package com.example.common.web.service.invoker;
+
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * Binder that writes a {@link
+ * com.example.common.web.bind.annotation.RequestParamObject @RequestParamObject} argument as
+ * request parameters.
+ *
+ * <p>Implementations are generated by the annotation processor for records used in client
+ * interfaces and registered in {@code META-INF/services}. They are picked up by the {@link
+ * RequestParamObjectArgumentResolver} and write the same parameters as the resolver does itself.
+ * The resolver looks binders up through the class loader of the argument type, by the name of the
+ * type with the {@code ParamBinder} suffix.
+ *
+ * @param <T> argument type
+ */
+public interface RequestParamObjectBinder<T> {
+
+  /** Returns the argument type. */
+  Class<T> type();
+
+  /**
+   * Writes the argument as request parameters.
+   *
+   * @param argument argument to write
+   * @param requestValues request values to add parameters to
+   */
+  void bind(T argument, HttpRequestValues.Builder requestValues);
+}
@@ -0,0 +1,282 @@
+package com.example.common.web.service.invoker;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * Precompiled plan that writes record components as request parameters.
+ *
+ * <p>Produces the same parameters as the Jackson tree walk of {@link
+ * RequestParamObjectArgumentResolver} without building the tree. Plans are compiled once per record
+ * type and read components through method handles. Only records of scalars, enums, collections,
+ * arrays and nested records without Jackson serialization annotations are supported, other types
+ * have no plan and are resolved through Jackson.
+ */
+final class RequestParamObjectPlan {
+  private static final ClassValue<Optional<RequestParamObjectPlan>> PLANS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<RequestParamObjectPlan> computeValue(Class<?> type) {
+          return Optional.ofNullable(compile(type, new HashSet<>()));
+        }
+      };
+
+  private static final Set<Class<?>> SCALAR_TYPES =
+      Set.of(
+          String.class,
+          Boolean.class,
+          Byte.class,
+          Short.class,
+          Integer.class,
+          Long.class,
+          Float.class,
+          Double.class,
+          BigInteger.class,
+          UUID.class);
+
+  private final List<Property> properties;
+
+  private RequestParamObjectPlan(List<Property> properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Returns the plan for the given type.
+   *
+   * @param type argument type
+   * @return plan, or empty if the type is not supported
+   */
+  static Optional<RequestParamObjectPlan> forType(Class<?> type) {
+    return PLANS.get(type);
+  }
+
+  /**
+   * Writes the record components of the argument as request parameters.
+   *
+   * @param argument record of the planned type
+   * @param requestValues request values to add parameters to
+   */
+  void write(Object argument, HttpRequestValues.Builder requestValues) {
+    write(argument, "", requestValues);
+  }
+
+  private void write(Object argument, String prefix, HttpRequestValues.Builder requestValues) {
+    for (var property : properties) {
+      var value = property.get(argument);
+      if (value != null) {
+        property.writer().write(prefix + property.name(), value, requestValues);
+      }
+    }
+  }
+
+  private static @Nullable RequestParamObjectPlan compile(Class<?> type, Set<Class<?>> compiling) {
+    if (!type.isRecord()
+        || !Modifier.isPublic(type.getModifiers())
+        || hasJacksonAnnotations(type)
+        || hasExtraGetters(type)
+        || !compiling.add(type)) {
+      return null;
+    }
+
+    var lookup = MethodHandles.publicLookup();
+    var properties = new ArrayList<Property>();
+    for (var component : type.getRecordComponents()) {
+      var accessor = component.getAccessor();
+      if (hasJacksonAnnotations(accessor)) {
+        return null;
+      }
+
+      try {
+        if (hasJacksonAnnotations(type.getDeclaredField(component.getName()))) {
+          return null;
+        }
+      } catch (NoSuchFieldException ex) {
+        return null;
+      }
+
+      var writer = compileWriter(component.getGenericType(), compiling);
+      if (writer == null) {
+        return null;
+      }
+
+      MethodHandle handle;
+      try {
+        handle =
+            lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class));
+      } catch (IllegalAccessException ex) {
+        return null;
+      }
+
+      properties.add(new Property(component.getName(), handle, writer));
+    }
+
+    compiling.remove(type);
+    return new RequestParamObjectPlan(List.copyOf(properties));
+  }
+
+  private static @Nullable ValueWriter compileWriter(Type type, Set<Class<?>> compiling) {
+    if (type instanceof Class<?> cls) {
+      if (cls.isPrimitive() ? cls != char.class && cls != void.class : SCALAR_TYPES.contains(cls)) {
+        return (name, value, requestValues) ->
+            requestValues.addRequestParameter(name, String.valueOf(value));
+      }
+
+      // Jackson writes enums by name, unless their names are customized by annotations
+      if (cls.isEnum()) {
+        return isPlainEnum(cls)
+            ? (name, value, requestValues) ->
+                requestValues.addRequestParameter(name, ((Enum<?>) value).name())
+            : null;
+      }
+
+      // Jackson writes byte and char arrays as strings
+      if (cls.isArray() && cls != byte[].class && cls != char[].class) {
+        var elementWriter = compileWriter(cls.getComponentType(), compiling);
+        return elementWriter != null ? arrayWriter(elementWriter) : null;
+      }
+
+      var plan = compile(cls, compiling);
+      return plan != null
+          ? (name, value, requestValues) -> plan.write(value, name + ".", requestValues)
+          : null;
+    }
+
+    if (type instanceof ParameterizedType parameterized
+        && parameterized.getRawType() instanceof Class<?> raw
+        && Collection.class.isAssignableFrom(raw)) {
+
+      var elementWriter = compileWriter(parameterized.getActualTypeArguments()[0], compiling);
+      return elementWriter != null ? collectionWriter(elementWriter) : null;
+    }
+
+    return null;
+  }
+
+  // Like the tree walk, elements are followed by an empty parameter named after the collection,
+  // which the server data binder needs to bind the indexed parameters
+  private static ValueWriter collectionWriter(ValueWriter elementWriter) {
+    return (name, value, requestValues) -> {
+      var index = 0;
+      for (var element : (Collection<?>) value) {
+        writeElement(elementWriter, name + "[" + index + "]", element, requestValues);
+        index++;
+      }
+
+      requestValues.addRequestParameter(name, "");
+    };
+  }
+
+  private static ValueWriter arrayWriter(ValueWriter elementWriter) {
+    return (name, value, requestValues) -> {
+      var length = Array.getLength(value);
+      for (var index = 0; index < length; index++) {
+        writeElement(
+            elementWriter, name + "[" + index + "]", Array.get(value, index), requestValues);
+      }
+
+      requestValues.addRequestParameter(name, "");
+    };
+  }
+
+  private static void writeElement(
+      ValueWriter elementWriter,
+      String name,
+      @Nullable Object element,
+      HttpRequestValues.Builder requestValues) {
+
+    // Jackson writes null elements as the "null" text
+    if (element == null) {
+      requestValues.addRequestParameter(name, "null");
+    } else {
+      elementWriter.write(name, element, requestValues);
+    }
+  }
+
+  private static boolean hasJacksonAnnotations(AnnotatedElement element) {
+    for (var annotation : element.getAnnotations()) {
+      var annotationType = annotation.annotationType();
+      if (annotationType != JsonDeserialize.class
+          && annotationType.isAnnotationPresent(JacksonAnnotation.class)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean isPlainEnum(Class<?> type) {
+    if (hasJacksonAnnotations(type)) {
+      return false;
+    }
+
+    for (var field : type.getDeclaredFields()) {
+      if (hasJacksonAnnotations(field)) {
+        return false;
+      }
+    }
+
+    for (var method : type.getDeclaredMethods()) {
+      if (hasJacksonAnnotations(method)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean hasExtraGetters(Class<?> type) {
+    var components = new HashSet<String>();
+    for (var component : type.getRecordComponents()) {
+      components.add(component.getName());
+    }
+
+    for (var method : type.getMethods()) {
+      var name = method.getName();
+      if (!components.contains(name)
+          && !Modifier.isStatic(method.getModifiers())
+          && method.getParameterCount() == 0
+          && method.getDeclaringClass() != Object.class
+          && (name.startsWith("get") || name.startsWith("is"))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(String name, Object value, HttpRequestValues.Builder requestValues);
+  }
+
+  private record Property(String name, MethodHandle accessor, ValueWriter writer) {
+
+    @Nullable Object get(Object argument) {
+      try {
+        return (Object) accessor.invokeExact(argument);
+      } catch (RuntimeException | Error ex) {
+        throw ex;
+      } catch (Throwable ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+}
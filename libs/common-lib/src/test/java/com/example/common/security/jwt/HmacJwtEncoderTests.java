@@ -0,0 +1,127 @@
+package com.example.common.security.jwt;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.common.security.SecurityUtils;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithms;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Checks that the fast path of {@link HmacJwtEncoder} creates tokens with the same header and
+ * claims as {@link NimbusJwtEncoder}.
+ */
+class HmacJwtEncoderTests {
+  private static final SecretKey SECRET_KEY = SecurityUtils.createSecretKey("testSecret");
+  private static final Instant EXPIRES_AT = Instant.parse("2026-10-18T10:15:30.123Z");
+
+  static Stream<Arguments> tokens() {
+    var refreshClaims = new LinkedHashMap<String, Object>();
+    refreshClaims.put("sv", -6_917_529_027_641_081_856L);
+    refreshClaims.put("user_scope", "user admin super");
+
+    var mixedClaims = new LinkedHashMap<String, Object>();
+    mixedClaims.put("flag", true);
+    mixedClaims.put("count", 42);
+    mixedClaims.put("zone", "Europe/Berlin");
+    mixedClaims.put("a", "");
+    mixedClaims.put("user_id", Long.MAX_VALUE);
+
+    return Stream.of(
+        Arguments.of(
+            "https://example.com", "10015a9b-7b4b-a46d-69cf-41fedc06439e", "user", Map.of()),
+        Arguments.of(
+            "https://example.com",
+            "10015a9b-7b4b-a46d-69cf-41fedc06439e",
+            "refresh",
+            refreshClaims),
+        Arguments.of("issuer", "subject", "user admin", mixedClaims),
+        Arguments.of(
+            "https://example.com/path?a=1&b=%22",
+            "\"quoted\" back\\slash\ttab\nnew line",
+            "",
+            Map.of("control", "\u0000\u001f\b\f\r", "separators", "  ", "html", "<&>'=")),
+        Arguments.of("ïssüer", "sübject ✓", "scöpe", Map.of("emoji", "😀")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("tokens")
+  void createsSameClaimsAsNimbus(
+      String issuer, String subject, String scope, Map<String, Object> claims) {
+
+    assertThat(HmacJwtEncoder.isSupported(issuer, subject, claims)).isTrue();
+
+    var hmacEncoder = new HmacJwtEncoder(SECRET_KEY);
+    var token = hmacEncoder.createToken(issuer, subject, scope, EXPIRES_AT, claims);
+
+    var nimbusEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(SECRET_KEY));
+    var claimsSet =
+        JwtClaimsSet.builder()
+            .issuer(issuer)
+            .subject(subject)
+            .claim("scope", scope)
+            .expiresAt(EXPIRES_AT)
+            .claims(c -> c.putAll(claims))
+            .build();
+    var expected =
+        nimbusEncoder
+            .encode(
+                JwtEncoderParameters.from(
+                    JwsHeader.with(() -> JwsAlgorithms.HS256).build(), claimsSet))
+            .getTokenValue();
+
+    // Tokens are compared regardless of the expiration time
+    var decoder = NimbusJwtDecoder.withSecretKey(SECRET_KEY).build();
+    decoder.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+    var decoded = decoder.decode(token);
+    var expectedDecoded = decoder.decode(expected);
+
+    assertThat(decoded.getHeaders()).isEqualTo(expectedDecoded.getHeaders());
+    assertThat(decoded.getClaims()).isEqualTo(expectedDecoded.getClaims());
+  }
+
+  @ParameterizedTest
+  @MethodSource("tokens")
+  void createsTokensThroughJwtUtils(
+      String issuer, String subject, String scope, Map<String, Object> claims) {
+
+    var hmacToken =
+        JwtUtils.creatToken(new HmacJwtEncoder(SECRET_KEY), issuer, subject, scope, 300, claims);
+    var decoded = NimbusJwtDecoder.withSecretKey(SECRET_KEY).build().decode(hmacToken);
+
+    assertThat(decoded.getClaimAsString("iss")).isEqualTo(issuer);
+    assertThat(decoded.getSubject()).isEqualTo(subject);
+    assertThat(decoded.getClaimAsString("scope")).isEqualTo(scope);
+    claims.forEach(
+        (name, value) ->
+            assertThat(decoded.<Object>getClaim(name)).hasToString(String.valueOf(value)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("unsupportedTokens")
+  void rejectsUnsupportedTokens(String issuer, String subject, Map<String, Object> claims) {
+    assertThat(HmacJwtEncoder.isSupported(issuer, subject, claims)).isFalse();
+  }
+
+  static Stream<Arguments> unsupportedTokens() {
+    return Stream.of(
+        Arguments.of("", "subject", Map.of()),
+        Arguments.of("issuer", " ", Map.of()),
+        Arguments.of("issuer", "subject", Map.of("aud", "audience")),
+        Arguments.of("issuer", "subject", Map.of("scope", "user")),
+        Arguments.of("issuer", "subject", Map.of("amount", 1.5)));
+  }
+}
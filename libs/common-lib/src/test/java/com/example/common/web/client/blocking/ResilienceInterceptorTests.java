@@ -0,0 +1,299 @@
+package com.example.common.web.client.blocking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.common.web.client.resilience.ClientResilience;
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+@NullUnmarked
+class ResilienceInterceptorTests {
+  private static final URI TEST_URI = URI.create("http://localhost/test");
+  private static final Duration HEDGE_DELAY = Duration.ofMillis(100);
+  private static final byte[] BODY = new byte[0];
+
+  private final Queue<Exchange> responses = new ConcurrentLinkedQueue<>();
+  private final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+
+  /** Answers with the queued exchanges, then with {@code 200 OK}. */
+  private final ClientHttpRequestExecution upstream =
+      (request, body) -> {
+        requests.add(request);
+        var exchange = responses.poll();
+        return exchange != null ? exchange.execute() : new TestResponse(HttpStatus.OK);
+      };
+
+  @Test
+  void hedgesAfterQuantileAndFirstResponseWins() throws Exception {
+    var interceptor = hedgedInterceptor();
+
+    var primaryReleased = new CountDownLatch(1);
+    responses.add(() -> await(primaryReleased, new TestResponse(HttpStatus.OK)));
+    var hedgeResponse = new TestResponse(HttpStatus.OK);
+    responses.add(() -> hedgeResponse);
+
+    try {
+      var start = System.nanoTime();
+      var result = interceptor.intercept(request(HttpMethod.GET), BODY, upstream);
+
+      assertThat(result).isSameAs(hedgeResponse);
+      assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(HEDGE_DELAY.toNanos());
+      assertThat(requests).hasSize(2);
+    } finally {
+      primaryReleased.countDown();
+    }
+  }
+
+  @Test
+  void closesAbandonedResponse() throws Exception {
+    var interceptor = hedgedInterceptor();
+
+    var primaryReleased = new CountDownLatch(1);
+    var primaryResponse = new TestResponse(HttpStatus.OK);
+    responses.add(() -> await(primaryReleased, primaryResponse));
+    var hedgeResponse = new TestResponse(HttpStatus.OK);
+    responses.add(() -> hedgeResponse);
+
+    assertThat(interceptor.intercept(request(HttpMethod.GET), BODY, upstream))
+        .isSameAs(hedgeResponse);
+
+    // The primary response arrives after the hedge won
+    primaryReleased.countDown();
+    assertThat(primaryResponse.closed.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(hedgeResponse.closed.getCount()).isOne();
+  }
+
+  @Test
+  void doesNotHedgeFailedPrimary() throws Exception {
+    var interceptor = hedgedInterceptor();
+
+    var error = new IOException("Connection reset");
+    responses.add(
+        () -> {
+          sleep(Duration.ofMillis(10));
+          throw error;
+        });
+
+    assertThatIOException()
+        .isThrownBy(() -> interceptor.intercept(request(HttpMethod.GET), BODY, upstream))
+        .isSameAs(error);
+
+    sleep(HEDGE_DELAY.multipliedBy(2));
+    assertThat(requests).hasSize(1);
+  }
+
+  @Test
+  void retriesTransportErrorsOfIdempotentMethods() throws Exception {
+    var interceptor = interceptor(RetriedClient.class);
+
+    responses.add(ResilienceInterceptorTests::fail);
+    responses.add(ResilienceInterceptorTests::fail);
+    assertThat(interceptor.intercept(request(HttpMethod.GET), BODY, upstream).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+    assertThat(requests).hasSize(3);
+
+    // Up to the maximum number of retries
+    requests.clear();
+    for (var i = 0; i < 4; i++) {
+      responses.add(ResilienceInterceptorTests::fail);
+    }
+    assertThatIOException()
+        .isThrownBy(() -> interceptor.intercept(request(HttpMethod.PUT), BODY, upstream));
+    assertThat(requests).hasSize(3);
+  }
+
+  @Test
+  void doesNotRetryOtherFailures() throws Exception {
+    var interceptor = interceptor(RetriedClient.class);
+
+    // Not idempotent
+    responses.add(ResilienceInterceptorTests::fail);
+    assertThatIOException()
+        .isThrownBy(() -> interceptor.intercept(request(HttpMethod.POST), BODY, upstream));
+    assertThat(requests).hasSize(1);
+
+    // Error responses
+    requests.clear();
+    responses.add(() -> new TestResponse(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(interceptor.intercept(request(HttpMethod.GET), BODY, upstream).getStatusCode())
+        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(requests).hasSize(1);
+
+    // Not transport errors
+    requests.clear();
+    responses.add(
+        () -> {
+          throw new IllegalStateException("Failure");
+        });
+    assertThatIllegalStateException()
+        .isThrownBy(() -> interceptor.intercept(request(HttpMethod.GET), BODY, upstream));
+    assertThat(requests).hasSize(1);
+  }
+
+  @Test
+  void retriesWithinBudget() {
+    var interceptor = interceptor(BudgetedClient.class);
+
+    // The call deposits one retry, retries do not deposit
+    for (var i = 0; i < 4; i++) {
+      responses.add(ResilienceInterceptorTests::fail);
+    }
+    assertThatIOException()
+        .isThrownBy(() -> interceptor.intercept(request(HttpMethod.GET), BODY, upstream));
+    assertThat(requests).hasSize(2);
+  }
+
+  @Test
+  void limitsCallByDeadline() {
+    var interceptor = interceptor(DeadlineClient.class);
+
+    var released = new CountDownLatch(1);
+    var response = new TestResponse(HttpStatus.OK);
+    responses.add(() -> await(released, response));
+
+    var request = request(HttpMethod.GET);
+    var before = System.currentTimeMillis();
+    var start = System.nanoTime();
+    try {
+      assertThatExceptionOfType(SocketTimeoutException.class)
+          .isThrownBy(() -> interceptor.intercept(request, BODY, upstream));
+    } finally {
+      released.countDown();
+    }
+    var after = System.currentTimeMillis();
+
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+    assertThat(requests).hasSize(1);
+    assertThat(
+            Long.parseLong(
+                Objects.requireNonNull(
+                    request.getHeaders().getFirst(ClientResiliencePolicy.DEADLINE_HEADER))))
+        .isBetween(before + 200, after + 200);
+  }
+
+  private ResilienceInterceptor hedgedInterceptor() throws IOException {
+    var interceptor = interceptor(HedgedClient.class);
+
+    // Records enough round-trip times for the latency quantile
+    for (var i = 0; i < 32; i++) {
+      interceptor.intercept(request(HttpMethod.GET), BODY, upstream).close();
+    }
+
+    requests.clear();
+    return interceptor;
+  }
+
+  private static ResilienceInterceptor interceptor(Class<?> clientType) {
+    return new ResilienceInterceptor(
+        Objects.requireNonNull(ClientResiliencePolicy.forType(clientType)));
+  }
+
+  private static MockClientHttpRequest request(HttpMethod method) {
+    return new MockClientHttpRequest(method, TEST_URI);
+  }
+
+  private static ClientHttpResponse fail() throws IOException {
+    throw new IOException("Connection reset");
+  }
+
+  private static ClientHttpResponse await(CountDownLatch latch, ClientHttpResponse response)
+      throws IOException {
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new IOException("Response was not released");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException(ex);
+    }
+
+    return response;
+  }
+
+  private static void sleep(Duration duration) throws IOException {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException(ex);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Exchange {
+    ClientHttpResponse execute() throws IOException;
+  }
+
+  /** Response with an empty body which records whether it is closed. */
+  private static final class TestResponse implements ClientHttpResponse {
+    private final HttpStatus status;
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    TestResponse(HttpStatus status) {
+      this.status = status;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+      return status;
+    }
+
+    @Override
+    public String getStatusText() {
+      return status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return new HttpHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+      return InputStream.nullInputStream();
+    }
+
+    @Override
+    public void close() {
+      closed.countDown();
+    }
+  }
+
+  @ClientResilience(hedge = true, hedgeMinDelayMillis = 100)
+  interface HedgedClient {}
+
+  @ClientResilience(maxRetries = 2, retryBackoffMillis = 1, retryMaxBackoffMillis = 1)
+  interface RetriedClient {}
+
+  @ClientResilience(
+      maxRetries = 3,
+      retryBackoffMillis = 1,
+      retryMaxBackoffMillis = 1,
+      retryBudgetRatio = 1,
+      minRetriesPerSecond = 0)
+  interface BudgetedClient {}
+
+  @ClientResilience(deadlineMillis = 200)
+  interface DeadlineClient {}
+}
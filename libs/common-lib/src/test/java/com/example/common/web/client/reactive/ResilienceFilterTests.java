@@ -0,0 +1,243 @@
+package com.example.common.web.client.reactive;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.common.web.client.resilience.ClientResilience;
+import com.example.common.web.client.resilience.ClientResiliencePolicy;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+@NullUnmarked
+class ResilienceFilterTests {
+  private static final URI TEST_URI = URI.create("http://localhost/test");
+  private static final Duration HEDGE_DELAY = Duration.ofMillis(100);
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final Queue<Mono<ClientResponse>> responses = new ConcurrentLinkedQueue<>();
+  private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+
+  /** Answers with the queued responses, then with {@code 200 OK}. */
+  private final ExchangeFunction upstream =
+      request -> {
+        requests.add(request);
+        var response = responses.poll();
+        return response != null ? response : Mono.just(response(HttpStatus.OK));
+      };
+
+  @Test
+  void hedgesAfterQuantileAndFirstResponseWins() {
+    var filter = hedgedFilter();
+
+    var primaryCancelled = new AtomicBoolean();
+    responses.add(Mono.<ClientResponse>never().doOnCancel(() -> primaryCancelled.set(true)));
+    var hedgeResponse = response(HttpStatus.OK);
+    responses.add(Mono.just(hedgeResponse));
+
+    var start = System.nanoTime();
+    var result = filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT);
+
+    assertThat(result).isSameAs(hedgeResponse);
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(HEDGE_DELAY.toNanos());
+    assertThat(requests).hasSize(2);
+    assertThat(primaryCancelled).isTrue();
+  }
+
+  @Test
+  void closesAbandonedResponse() {
+    var filter = hedgedFilter();
+
+    var primary = new AtomicReference<MonoSink<ClientResponse>>();
+    responses.add(Mono.create(primary::set));
+    var hedgeResponse = response(HttpStatus.OK);
+    responses.add(Mono.just(hedgeResponse));
+
+    assertThat(filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT))
+        .isSameAs(hedgeResponse);
+
+    // The primary response arrives after the hedge won
+    var released = new AtomicBoolean();
+    primary.get().success(response(HttpStatus.OK, released));
+    assertThat(released).isTrue();
+  }
+
+  @Test
+  void doesNotHedgeFailedPrimary() throws Exception {
+    var filter = hedgedFilter();
+
+    var error = transportError(HttpMethod.GET);
+    responses.add(Mono.delay(Duration.ofMillis(10)).then(Mono.error(error)));
+
+    assertThatExceptionOfType(WebClientRequestException.class)
+        .isThrownBy(() -> filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT))
+        .isSameAs(error);
+
+    Thread.sleep(HEDGE_DELAY.multipliedBy(2).toMillis());
+    assertThat(requests).hasSize(1);
+  }
+
+  @Test
+  void retriesTransportErrorsOfIdempotentMethods() {
+    var filter = filter(RetriedClient.class);
+
+    responses.add(Mono.error(transportError(HttpMethod.GET)));
+    responses.add(Mono.error(transportError(HttpMethod.GET)));
+    assertThat(filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT))
+        .extracting(ClientResponse::statusCode)
+        .isEqualTo(HttpStatus.OK);
+    assertThat(requests).hasSize(3);
+
+    // Up to the maximum number of retries
+    requests.clear();
+    for (var i = 0; i < 4; i++) {
+      responses.add(Mono.error(transportError(HttpMethod.PUT)));
+    }
+    assertThatExceptionOfType(WebClientRequestException.class)
+        .isThrownBy(() -> filter.filter(request(HttpMethod.PUT), upstream).block(TIMEOUT));
+    assertThat(requests).hasSize(3);
+  }
+
+  @Test
+  void doesNotRetryOtherFailures() {
+    var filter = filter(RetriedClient.class);
+
+    // Not idempotent
+    responses.add(Mono.error(transportError(HttpMethod.POST)));
+    assertThatExceptionOfType(WebClientRequestException.class)
+        .isThrownBy(() -> filter.filter(request(HttpMethod.POST), upstream).block(TIMEOUT));
+    assertThat(requests).hasSize(1);
+
+    // Error responses
+    requests.clear();
+    responses.add(Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE)));
+    assertThat(filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT))
+        .extracting(ClientResponse::statusCode)
+        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(requests).hasSize(1);
+
+    // Not transport errors
+    requests.clear();
+    responses.add(Mono.error(new IllegalStateException("Failure")));
+    assertThatIllegalStateException()
+        .isThrownBy(() -> filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT));
+    assertThat(requests).hasSize(1);
+  }
+
+  @Test
+  void retriesWithinBudget() {
+    var filter = filter(BudgetedClient.class);
+
+    // The call deposits one retry, resubscriptions by retries do not deposit
+    for (var i = 0; i < 4; i++) {
+      responses.add(Mono.error(transportError(HttpMethod.GET)));
+    }
+    assertThatExceptionOfType(WebClientRequestException.class)
+        .isThrownBy(() -> filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT));
+    assertThat(requests).hasSize(2);
+  }
+
+  @Test
+  void limitsCallByDeadline() {
+    var filter = filter(DeadlineClient.class);
+
+    var cancelled = new AtomicBoolean();
+    responses.add(Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true)));
+
+    var before = System.currentTimeMillis();
+    var start = System.nanoTime();
+    assertThatException()
+        .isThrownBy(() -> filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT))
+        .withCauseInstanceOf(TimeoutException.class);
+    var after = System.currentTimeMillis();
+
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+    assertThat(cancelled).isTrue();
+    assertThat(requests).hasSize(1);
+    assertThat(
+            Long.parseLong(
+                Objects.requireNonNull(
+                    requests
+                        .getFirst()
+                        .headers()
+                        .getFirst(ClientResiliencePolicy.DEADLINE_HEADER))))
+        .isBetween(before + 200, after + 200);
+  }
+
+  private ResilienceFilter hedgedFilter() {
+    var filter = filter(HedgedClient.class);
+
+    // Records enough round-trip times for the latency quantile
+    for (var i = 0; i < 32; i++) {
+      filter.filter(request(HttpMethod.GET), upstream).block(TIMEOUT);
+    }
+
+    requests.clear();
+    return filter;
+  }
+
+  private static ResilienceFilter filter(Class<?> clientType) {
+    return new ResilienceFilter(Objects.requireNonNull(ClientResiliencePolicy.forType(clientType)));
+  }
+
+  private static ClientRequest request(HttpMethod method) {
+    return ClientRequest.create(method, TEST_URI).build();
+  }
+
+  private static ClientResponse response(HttpStatus status) {
+    return response(status, new AtomicBoolean());
+  }
+
+  private static ClientResponse response(HttpStatus status, AtomicBoolean released) {
+    return ClientResponse.create(status)
+        .body(
+            Flux.defer(
+                () -> {
+                  released.set(true);
+                  return Flux.empty();
+                }))
+        .build();
+  }
+
+  private static WebClientRequestException transportError(HttpMethod method) {
+    return new WebClientRequestException(
+        new IOException("Connection reset"), method, TEST_URI, new HttpHeaders());
+  }
+
+  @ClientResilience(hedge = true, hedgeMinDelayMillis = 100)
+  interface HedgedClient {}
+
+  @ClientResilience(maxRetries = 2, retryBackoffMillis = 1, retryMaxBackoffMillis = 1)
+  interface RetriedClient {}
+
+  @ClientResilience(
+      maxRetries = 3,
+      retryBackoffMillis = 1,
+      retryMaxBackoffMillis = 1,
+      retryBudgetRatio = 1,
+      minRetriesPerSecond = 0)
+  interface BudgetedClient {}
+
+  @ClientResilience(deadlineMillis = 200)
+  interface DeadlineClient {}
+}
@@ -0,0 +1,111 @@
+package com.example.common.web.client.resilience;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class CircuitBreakerTests {
+  private static final long OPEN_NANOS = Duration.ofMinutes(1).toNanos();
+
+  @Test
+  void opensAtFailureRateThreshold() {
+    var circuitBreaker = new CircuitBreaker(0.5, 4, 4, OPEN_NANOS, 1);
+
+    record(circuitBreaker, false, false, false, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    // The oldest success leaves the window, so half of the calls failed
+    record(circuitBreaker, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void staysClosedBeforeMinimumCalls() {
+    var circuitBreaker = new CircuitBreaker(0.5, 10, 4, OPEN_NANOS, 1);
+
+    record(circuitBreaker, true, true, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    record(circuitBreaker, false);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void ignoresResultsOfRequestsSentBeforeOpening() {
+    var circuitBreaker = new CircuitBreaker(0.5, 2, 2, OPEN_NANOS, 1);
+
+    record(circuitBreaker, true, true);
+    record(circuitBreaker, false, false, false);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void limitsTrialRequestsWhenHalfOpen() {
+    var circuitBreaker = openCircuitBreaker(2);
+
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void returnsTrialPermitsOfCancelledRequests() {
+    var circuitBreaker = openCircuitBreaker(1);
+
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+    circuitBreaker.onIgnored();
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void closesWhenAllTrialRequestsSucceed() {
+    var circuitBreaker = openCircuitBreaker(2);
+
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    record(circuitBreaker, false);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+    record(circuitBreaker, false);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    // The window starts empty after closing
+    record(circuitBreaker, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensAgainWhenTrialRequestFails() {
+    var circuitBreaker = new CircuitBreaker(0.5, 2, 2, OPEN_NANOS, 2);
+    record(circuitBreaker, true, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+    var halfOpen = openCircuitBreaker(2);
+    assertThat(halfOpen.tryAcquire()).isTrue();
+    record(halfOpen, true);
+    assertThat(halfOpen.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  /** Returns a circuit breaker which is open and lets trial requests through immediately. */
+  private static CircuitBreaker openCircuitBreaker(int halfOpenCalls) {
+    var circuitBreaker = new CircuitBreaker(0.5, 2, 2, 0, halfOpenCalls);
+    record(circuitBreaker, true, true);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    return circuitBreaker;
+  }
+
+  private static void record(CircuitBreaker circuitBreaker, boolean... failures) {
+    for (var failure : failures) {
+      circuitBreaker.onResult(failure);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.example.common.web.client.resilience;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.common.error.exception.ServiceUnavailableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+@NullUnmarked
+class ClientResiliencePolicyTests {
+
+  @Test
+  void countsRejectionsAsDrops() {
+    for (var status :
+        new HttpStatus[] {HttpStatus.TOO_MANY_REQUESTS, HttpStatus.SERVICE_UNAVAILABLE}) {
+      var policy = policy(LimitedClient.class);
+
+      completeOne(policy, status);
+
+      assertThat(acquirable(policy)).as("Limit after %s", status).isEqualTo(9);
+    }
+  }
+
+  @Test
+  void countsOtherResponsesAsSamples() {
+    for (var status : new HttpStatus[] {HttpStatus.OK, HttpStatus.INTERNAL_SERVER_ERROR}) {
+      var policy = policy(LimitedClient.class);
+
+      completeOne(policy, status);
+
+      assertThat(acquirable(policy)).as("Limit after %s", status).isEqualTo(10);
+    }
+  }
+
+  @Test
+  void countsTransportErrorsAsDrops() {
+    var policy = policy(LimitedClient.class);
+
+    var permits = acquireAll(policy);
+    permits.getFirst().onError();
+    permits.forEach(ClientResiliencePolicy.Permit::onCancel);
+
+    assertThat(acquirable(policy)).isEqualTo(9);
+  }
+
+  @Test
+  void opensCircuitOnServerErrors() {
+    var policy = policy(BreakerClient.class);
+
+    for (var i = 0; i < 4; i++) {
+      policy.acquire().onResponse(i % 2 == 0 ? HttpStatus.OK : HttpStatus.BAD_GATEWAY);
+    }
+
+    assertThatExceptionOfType(ServiceUnavailableException.class).isThrownBy(policy::acquire);
+  }
+
+  @Test
+  void doesNotCountClientErrorsAsFailures() {
+    var policy = policy(BreakerClient.class);
+
+    for (var i = 0; i < 4; i++) {
+      policy.acquire().onResponse(HttpStatus.NOT_FOUND);
+    }
+
+    assertThatNoException().isThrownBy(policy::acquire);
+  }
+
+  @Test
+  void returnsTrialPermitsOfCancelledRequests() {
+    var policy = policy(HalfOpenClient.class);
+    policy.acquire().onError();
+    policy.acquire().onError();
+
+    // The single trial request is cancelled, so the next one can be sent
+    var trial = policy.acquire();
+    assertThatExceptionOfType(ServiceUnavailableException.class).isThrownBy(policy::acquire);
+    trial.onCancel();
+    assertThatNoException().isThrownBy(policy::acquire);
+  }
+
+  @Test
+  void completesPermitOnce() {
+    var policy = policy(LimitedClient.class);
+
+    var permit = policy.acquire();
+    permit.onResponse(HttpStatus.SERVICE_UNAVAILABLE);
+    permit.onResponse(HttpStatus.SERVICE_UNAVAILABLE);
+    permit.onError();
+    permit.onCancel();
+
+    assertThat(acquirable(policy)).isEqualTo(9);
+  }
+
+  private static ClientResiliencePolicy policy(Class<?> clientType) {
+    return Objects.requireNonNull(ClientResiliencePolicy.forType(clientType));
+  }
+
+  /** Completes one of the requests at the limit, so that only drops change the limit. */
+  private static void completeOne(ClientResiliencePolicy policy, HttpStatus status) {
+    var permits = acquireAll(policy);
+    permits.getFirst().onResponse(status);
+    permits.forEach(ClientResiliencePolicy.Permit::onCancel);
+  }
+
+  private static List<ClientResiliencePolicy.Permit> acquireAll(ClientResiliencePolicy policy) {
+
+    var permits = new ArrayList<ClientResiliencePolicy.Permit>();
+    while (true) {
+      try {
+        permits.add(policy.acquire());
+      } catch (ServiceUnavailableException ex) {
+        return permits;
+      }
+    }
+  }
+
+  /** Returns the current limit by acquiring permits until it is reached. */
+  private static int acquirable(ClientResiliencePolicy policy) {
+    var permits = acquireAll(policy);
+    permits.forEach(ClientResiliencePolicy.Permit::onCancel);
+    return permits.size();
+  }
+
+  @ClientResilience(adaptiveConcurrency = true, initialConcurrency = 10, maxConcurrency = 10)
+  interface LimitedClient {}
+
+  @ClientResilience(circuitBreaker = true, slidingWindowSize = 4, minimumCalls = 4)
+  interface BreakerClient {}
+
+  @ClientResilience(
+      circuitBreaker = true,
+      slidingWindowSize = 2,
+      minimumCalls = 2,
+      openMillis = 0,
+      halfOpenCalls = 1)
+  interface HalfOpenClient {}
+}
@@ -0,0 +1,111 @@
+package com.example.common.web.client.resilience;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ConcurrencyLimiterTests {
+  private static final long RTT = Duration.ofMillis(10).toNanos();
+
+  @Test
+  void limitsRequestsInFlight() {
+    var limiter = new ConcurrencyLimiter(2, 1, 10);
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isFalse();
+    assertThat(limiter.inFlight()).isEqualTo(2);
+
+    // Cancelled requests release their slot without a sample
+    limiter.onIgnored();
+    assertThat(limiter.inFlight()).isOne();
+    assertThat(limiter.limit()).isEqualTo(2);
+    assertThat(limiter.tryAcquire()).isTrue();
+  }
+
+  @Test
+  void growsLimitWhileQueueIsShort() {
+    var limiter = new ConcurrencyLimiter(10, 1, 1000);
+
+    for (var i = 0; i < 20; i++) {
+      saturate(limiter);
+      limiter.onSample(RTT);
+    }
+
+    assertThat(limiter.limit()).isGreaterThan(20);
+  }
+
+  @Test
+  void doesNotGrowLimitWhileNotReached() {
+    var limiter = new ConcurrencyLimiter(10, 1, 1000);
+
+    for (var i = 0; i < 20; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+      limiter.onSample(RTT);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(10);
+  }
+
+  @Test
+  void growsLimitUpToMaximum() {
+    var limiter = new ConcurrencyLimiter(10, 1, 12);
+
+    for (var i = 0; i < 20; i++) {
+      saturate(limiter);
+      limiter.onSample(RTT);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(12);
+  }
+
+  @Test
+  void shrinksLimitWhenQueueIsLong() {
+    var limiter = new ConcurrencyLimiter(20, 1, 1000);
+
+    // The unloaded round-trip time is the minimum one
+    assertThat(limiter.tryAcquire()).isTrue();
+    limiter.onSample(RTT);
+
+    // Ten times slower responses mean that 90% of the requests in flight are queued
+    for (var i = 0; i < 20; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+      limiter.onSample(RTT * 10);
+    }
+
+    // The limit settles where the estimated queue is between ALPHA and BETA
+    assertThat(limiter.limit()).isBetween(3, 6);
+  }
+
+  @Test
+  void shrinksLimitOnDrops() {
+    var limiter = new ConcurrencyLimiter(10, 5, 100);
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    limiter.onDropped();
+    assertThat(limiter.limit()).isEqualTo(9);
+    assertThat(limiter.inFlight()).isZero();
+
+    for (var i = 0; i < 20; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+      limiter.onDropped();
+    }
+
+    assertThat(limiter.limit()).isEqualTo(5);
+  }
+
+  @Test
+  void clampsInitialLimit() {
+    assertThat(new ConcurrencyLimiter(0, 1, 10).limit()).isOne();
+    assertThat(new ConcurrencyLimiter(20, 1, 10).limit()).isEqualTo(10);
+  }
+
+  private static void saturate(ConcurrencyLimiter limiter) {
+    while (limiter.tryAcquire()) {
+      // Acquires the free slots
+    }
+  }
+}
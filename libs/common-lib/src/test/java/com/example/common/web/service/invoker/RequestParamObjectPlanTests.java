@@ -0,0 +1,156 @@
+package com.example.common.web.service.invoker;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * Checks that {@link RequestParamObjectPlan} writes the same request parameters as the Jackson tree
+ * walk of {@link RequestParamObjectArgumentResolver}.
+ */
+@NullUnmarked
+class RequestParamObjectPlanTests {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  static Stream<Object> arguments() {
+    var uuid = UUID.fromString("10015a9b-7b4b-a46d-69cf-41fedc06439e");
+
+    return Stream.of(
+        new Scalars(
+            "text",
+            true,
+            1,
+            -2L,
+            1.5f,
+            -0.1,
+            new BigInteger("123456789012345678901"),
+            uuid,
+            7,
+            2.5),
+        new Scalars(null, null, null, null, null, null, null, null, 0, 0),
+        new Scalars("", false, 0, 0L, Float.NaN, 1e21, BigInteger.ZERO, uuid, -1, -0.0),
+        new Collections(
+            List.of("a", "b"),
+            new LinkedHashSet<>(List.of(3, 1, 2)),
+            new int[] {1, 2},
+            new String[] {"x", null},
+            Arrays.asList("c", null)),
+        new Collections(List.of(), Set.of(), new int[0], new String[0], List.of()),
+        new Collections(null, null, null, null, null),
+        new Collections(List.of("a"), null, null, null, List.of()),
+        new Nested(
+            "outer",
+            new Inner("inner", List.of(1L, 2L), Color.RED),
+            List.of(new Inner(null, List.of(), Color.GREEN), new Inner("second", null, null)),
+            List.of(List.of(Color.RED), List.of())),
+        new Nested("empty", null, List.of(), null),
+        new Nested(null, new Inner(null, null, null), null, List.of()),
+        new Enums(Color.BLUE, List.of(Color.RED, Color.GREEN), new Color[] {Color.BLUE}));
+  }
+
+  @ParameterizedTest
+  @MethodSource("arguments")
+  void writesSameParametersAsJackson(Object argument) {
+    var plan = RequestParamObjectPlan.forType(argument.getClass());
+    assertThat(plan).isPresent();
+
+    var planValues = new RecordingBuilder();
+    plan.get().write(argument, planValues);
+
+    var treeValues = new RecordingBuilder();
+    assertThat(RequestParamObjectArgumentResolver.writeTree(objectMapper, argument, treeValues))
+        .isTrue();
+
+    assertThat(planValues.parameters).isEqualTo(treeValues.parameters);
+  }
+
+  @Test
+  void hasNoPlanForCustomizedSerialization() {
+    assertThat(RequestParamObjectPlan.forType(Renamed.class)).isEmpty();
+    assertThat(RequestParamObjectPlan.forType(RenamedEnum.class)).isEmpty();
+    assertThat(RequestParamObjectPlan.forType(Getter.class)).isEmpty();
+    assertThat(RequestParamObjectPlan.forType(Mapped.class)).isEmpty();
+    assertThat(RequestParamObjectPlan.forType(String.class)).isEmpty();
+  }
+
+  public enum Color {
+    RED,
+    GREEN,
+    BLUE {
+      @Override
+      public String toString() {
+        return "blue";
+      }
+    }
+  }
+
+  public enum CustomColor {
+    @JsonProperty("red")
+    RED
+  }
+
+  public record Scalars(
+      String string,
+      Boolean bool,
+      Integer integer,
+      Long longValue,
+      Float floatValue,
+      Double doubleValue,
+      BigInteger bigInteger,
+      UUID uuid,
+      int primitive,
+      double primitiveDouble) {}
+
+  @SuppressWarnings("ArrayRecordComponent") // Arrays are written like collections
+  public record Collections(
+      List<String> list, Set<Integer> set, int[] ints, String[] strings, List<String> trailing) {}
+
+  public record Inner(String name, List<Long> values, Color color) {}
+
+  public record Nested(
+      String name, Inner inner, List<Inner> inners, List<List<Color>> colorLists) {}
+
+  @SuppressWarnings("ArrayRecordComponent")
+  public record Enums(Color color, List<Color> colors, Color[] colorArray) {}
+
+  public record Renamed(@JsonProperty("other") String name) {}
+
+  public record RenamedEnum(CustomColor color) {}
+
+  public record Getter(String name) {
+    public String getUpperName() {
+      return name.toUpperCase();
+    }
+  }
+
+  public record Mapped(Map<String, String> values) {}
+
+  /** Records request parameters in the order they are added. */
+  private static final class RecordingBuilder extends HttpRequestValues.Builder {
+    private final List<Map.Entry<String, String>> parameters = new ArrayList<>();
+
+    @Override
+    public HttpRequestValues.Builder addRequestParameter(String name, String... values) {
+      for (var value : values) {
+        parameters.add(Map.entry(name, value));
+      }
+
+      return this;
+    }
+  }
+}
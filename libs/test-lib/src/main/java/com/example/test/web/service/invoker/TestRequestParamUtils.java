@@ -0,0 +1,59 @@
+package com.example.test.web.service.invoker;
+
+import com.example.common.web.service.invoker.RequestParamObjectArgumentResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/** Request parameter testing utilities. */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TestRequestParamUtils {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Captures the request parameters written by the writer.
+   *
+   * @param writer writes request parameters
+   * @return parameter names and values in the order they are written
+   */
+  public static List<Map.Entry<String, String>> capture(
+      Consumer<HttpRequestValues.Builder> writer) {
+    var builder = new CapturingBuilder();
+    writer.accept(builder);
+    return List.copyOf(builder.parameters);
+  }
+
+  /**
+   * Captures the request parameters written through the Jackson tree of the argument.
+   *
+   * @param argument {@code RequestParamObject} argument
+   * @return parameter names and values in the order they are written
+   * @throws IllegalArgumentException if the argument is not converted to an object
+   */
+  public static List<Map.Entry<String, String>> captureTree(Object argument) {
+    return capture(
+        builder -> {
+          if (!RequestParamObjectArgumentResolver.writeTree(objectMapper, argument, builder)) {
+            throw new IllegalArgumentException("Argument must be object");
+          }
+        });
+  }
+
+  private static class CapturingBuilder extends HttpRequestValues.Builder {
+    private final List<Map.Entry<String, String>> parameters = new ArrayList<>();
+
+    @Override
+    public HttpRequestValues.Builder addRequestParameter(String name, String... values) {
+      for (var value : values) {
+        parameters.add(Map.entry(name, value));
+      }
+
+      return this;
+    }
+  }
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package com.example.test.web.service.invoker;
+
+import org.jspecify.annotations.NullMarked;
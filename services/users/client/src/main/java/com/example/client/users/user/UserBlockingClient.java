@@ -1,12 +1,17 @@
 package com.example.client.users.user;
 
 import com.example.annotation.annotation.ClientInterface;
+import com.example.client.users.user.dto.BulkRolesRequest;
+import com.example.client.users.user.dto.BulkUpdateResult;
 import com.example.client.users.user.dto.CountUsersRequest;
 import com.example.client.users.user.dto.FindUsersRequest;
+import com.example.client.users.user.dto.FindUsersResult;
 import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.client.users.user.dto.RegisterUsersRequest;
 import com.example.client.users.user.dto.UpdateUserRequest;
 import com.example.client.users.user.dto.UserDto;
 import com.example.client.users.user.dto.UserDtoEx;
+import com.example.client.users.user.dto.UsersSelector;
 import com.example.common.dto.CountResult;
 import com.example.common.web.bind.annotation.RequestParamObject;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +43,14 @@ public interface UserBlockingClient {
   @Operation(summary = "Register new user", description = "Returns registered user")
   UserDto registerUser(@Valid @RequestBody RegisterUserRequest request);
 
+  @PostExchange("/batch")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Operation(
+      summary = "Register new users",
+      description = "Registers all users or none of them, returns registered users")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  List<UserDtoEx> registerUsers(@Valid @RequestBody RegisterUsersRequest request);
+
   @GetExchange("/self")
   @Operation(summary = "Get authorized user", description = "Returns authorized user")
   @SecurityRequirement(name = "default")
@@ -53,6 +66,13 @@ public interface UserBlockingClient {
   @SecurityRequirement(name = "default", scopes = "admin")
   List<UserDtoEx> findUsers(@Valid @RequestParamObject FindUsersRequest request);
 
+  @GetExchange("/page")
+  @Operation(
+      summary = "Finds a page of users",
+      description = "Returns found users and the cursor of the next page")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  FindUsersResult findUsersPage(@Valid @RequestParamObject FindUsersRequest request);
+
   @GetExchange("/count")
   @Operation(summary = "Counts users", description = "Returns user count")
   @SecurityRequirement(name = "default", scopes = "admin")
@@ -82,6 +102,18 @@ public interface UserBlockingClient {
   @SecurityRequirement(name = "default", scopes = "admin")
   void disableUser(@PathVariable("uuid") @Parameter(description = "UUID of the user") UUID uuid);
 
+  @PutExchange("/bulk/enable")
+  @Operation(summary = "Enable users", description = "Enables users, returns the number of enabled")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  BulkUpdateResult enableUsers(@Valid @RequestBody UsersSelector users);
+
+  @PutExchange("/bulk/disable")
+  @Operation(
+      summary = "Disable users",
+      description = "Disables users except the authorized one, returns the number of disabled")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  BulkUpdateResult disableUsers(@Valid @RequestBody UsersSelector users);
+
   @DeleteExchange("/{uuid}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   @Operation(summary = "Delete user by UUID", description = "Deletes user by UUID")
@@ -106,4 +138,18 @@ public interface UserBlockingClient {
   void setRoles(
       @PathVariable("uuid") @Parameter(description = "UUID of the user") UUID uuid,
       @RequestBody @Valid Set<@NotBlank String> roles);
+
+  @PutExchange("/bulk/roles/add")
+  @Operation(
+      summary = "Add roles to users",
+      description = "Adds roles to users, returns the number of added user roles")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  BulkUpdateResult addRoles(@Valid @RequestBody BulkRolesRequest request);
+
+  @PutExchange("/bulk/roles/remove")
+  @Operation(
+      summary = "Remove roles from users",
+      description = "Removes roles from users, returns the number of removed user roles")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  BulkUpdateResult removeRoles(@Valid @RequestBody BulkRolesRequest request);
 }
@@ -0,0 +1,14 @@
+package com.example.client.users.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.Set;
+
+@Schema(description = "The bulk role change DTO")
+public record BulkRolesRequest(
+    @NotNull @Valid @Schema(description = "Users to change the roles of") UsersSelector users,
+    @NotEmpty @Schema(description = "Roles to add or remove", example = "[\"EDITOR\"]")
+        Set<@NotBlank String> roles) {}
@@ -0,0 +1,7 @@
+package com.example.client.users.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "The bulk update result DTO")
+public record BulkUpdateResult(
+    @Schema(description = "Number of changed rows", example = "42") long updated) {}
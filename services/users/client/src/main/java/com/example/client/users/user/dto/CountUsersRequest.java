@@ -9,5 +9,14 @@ import org.jspecify.annotations.Nullable;
 public record CountUsersRequest(
     @Nullable @Schema(description = "Search string", example = "john") String search,
     @Nullable @Schema(description = "Enabled users filter", example = "true") Boolean enabled,
-    @Nullable @Schema(description = "Deleted users filter", example = "true") Boolean deleted)
+    @Nullable @Schema(description = "Deleted users filter", example = "true") Boolean deleted,
+    @Nullable
+        @Schema(
+            description =
+                "Allows a fast estimated count when no filters are set. The estimate comes from"
+                    + " database statistics, it can be off by a large margin and lag behind"
+                    + " recent changes",
+            defaultValue = "false",
+            example = "true")
+        Boolean estimate)
     implements FindUsersFilter {}
@@ -32,5 +32,12 @@ public record FindUsersRequest(
             description = "Maximum number of objects to return",
             defaultValue = "20",
             example = "100")
-        Integer limit)
+        Integer limit,
+    @Nullable
+        @Schema(
+            description =
+                "Continuation cursor returned with the previous page, cannot be combined with"
+                    + " offset",
+            example = "eyJzb3J0IjpbImlkOmFzYyJdLCJ2YWx1ZXMiOlsiMTAwIl19")
+        String cursor)
     implements FindUsersFilter {}
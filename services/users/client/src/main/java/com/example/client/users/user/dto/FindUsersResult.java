@@ -0,0 +1,15 @@
+package com.example.client.users.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+@Schema(description = "The find users result DTO")
+public record FindUsersResult(
+    @Schema(description = "Found users") List<UserDtoEx> users,
+    @Schema(
+            description = "Cursor of the next page, absent on the last page",
+            example = "eyJzb3J0IjpbImlkOmFzYyJdLCJ2YWx1ZXMiOlsiMTAwIl19")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Nullable String nextCursor) {}
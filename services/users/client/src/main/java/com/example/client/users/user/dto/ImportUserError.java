@@ -0,0 +1,16 @@
+package com.example.client.users.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.jspecify.annotations.Nullable;
+
+@Schema(description = "The rejected import row DTO")
+public record ImportUserError(
+    @Schema(description = "Line number of the row in the input", example = "42") long line,
+    @Schema(
+            description = "Email address of the row, if it could be read",
+            example = "john@example.com")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Nullable String email,
+    @Schema(description = "Reason why the row was not imported", example = "Email already exists")
+        String error) {}
@@ -0,0 +1,14 @@
+package com.example.client.users.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "The user import result DTO")
+public record ImportUsersResult(
+    @Schema(description = "Number of imported users", example = "1000") int imported,
+    @Schema(description = "Number of rows which were not imported", example = "10") int rejected,
+    @Schema(
+            description =
+                "Rows which were not imported, in the input order. Limited to the first rows if"
+                    + " too many rows were rejected")
+        List<ImportUserError> errors) {}
@@ -0,0 +1,13 @@
+package com.example.client.users.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "The bulk user registration DTO")
+public record RegisterUsersRequest(
+    @NotEmpty @Size(max = 1000) @Schema(description = "Users to register, emails must be unique")
+        List<@Valid @NotNull RegisterUserRequest> users) {}
@@ -0,0 +1,29 @@
+package com.example.client.users.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+@Schema(description = "Selects users either by UUIDs or by a filter")
+public record UsersSelector(
+    @Nullable
+        @Size(max = 10000)
+        @Schema(
+            description = "UUIDs of the users",
+            example = "[\"10012fa8-b4a0-430d-92ce-d69bc0aa6543\"]")
+        List<@NotNull UUID> uuids,
+    @Nullable @Valid @Schema(description = "Filter of the users, an empty filter selects all users")
+        UsersFilter filter) {
+
+  public static UsersSelector of(List<UUID> uuids) {
+    return new UsersSelector(uuids, null);
+  }
+
+  public static UsersSelector of(UsersFilter filter) {
+    return new UsersSelector(null, filter);
+  }
+}
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @OpenAPIDefinition(
@@ -20,6 +21,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
                     name = "Apache 2.0",
                     url = "https://www.apache.org/licenses/LICENSE-2.0.html")))
 @EnableJpaRepositories(repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
+@EnableScheduling
 public class UsersServiceApplication {
 
   public static void main(String[] args) {
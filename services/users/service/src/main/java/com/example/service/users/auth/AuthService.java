@@ -8,6 +8,9 @@ import com.example.common.error.exception.InternalServerErrorException;
 import com.example.common.security.ApiUser;
 import com.example.common.security.SecurityUtils;
 import com.example.common.security.jwt.JwtUtils;
+import com.example.service.users.user.UserSecurityVersions;
+import java.util.Map;
+import java.util.UUID;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,26 +18,39 @@ import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.stereotype.Service;
 
+/**
+ * Issues access and refresh tokens.
+ *
+ * <p>Refresh tokens carry the user scope and the {@link UserSecurityVersions security version} of
+ * the user. A refresh token with the current version is refreshed without loading the user, other
+ * refresh tokens reload the user and get the current version.
+ */
 @Service
 @EnableConfigurationProperties(JwtProperties.class)
 public final class AuthService {
+  private static final String SECURITY_VERSION_CLAIM = "sv";
+  private static final String USER_SCOPE_CLAIM = "user_scope";
+
   private final JwtProperties jwtProperties;
   private final AuthenticationConfiguration authenticationConfiguration;
   private final JwtEncoder accessEncoder;
   private final JwtEncoder refreshEncoder;
   private final JwtAuthenticationProvider refreshAuthProvider;
   private final UserDetailsServiceImpl detailsService;
+  private final UserSecurityVersions securityVersions;
 
   public AuthService(
       JwtProperties jwtProperties,
       AuthenticationConfiguration authenticationConfiguration,
       UserDetailsServiceImpl detailsService,
+      UserSecurityVersions securityVersions,
       ServletJwtAuthenticationConverter jwtConverter) {
 
     this.jwtProperties = jwtProperties;
@@ -51,6 +67,7 @@ public final class AuthService {
     refreshAuthProvider.setJwtAuthenticationConverter(jwtConverter);
 
     this.detailsService = detailsService;
+    this.securityVersions = securityVersions;
   }
 
   public AuthResponse login(LoginRequest request) {
@@ -63,8 +80,11 @@ public final class AuthService {
 
     var token =
         UsernamePasswordAuthenticationToken.unauthenticated(request.email(), request.password());
-    return createAuthResult(
-        (ApiUserDetails) authenticationManager.authenticate(token).getPrincipal());
+    var user = (ApiUserDetails) authenticationManager.authenticate(token).getPrincipal();
+
+    // The authenticated user was loaded before the version could be taken, a change in between
+    // would be lost, so the user is loaded again, usually from the cache
+    return createAuthResult(user.uuid());
   }
 
   public AuthResponse refresh(RefreshRequest request) {
@@ -79,26 +99,45 @@ public final class AuthService {
       throw new BadCredentialsException("Invalid token scope");
     }
 
-    var user = detailsService.loadUserByUUID(((ApiUser) authentication.getPrincipal()).uuid());
+    var uuid = ((ApiUser) authentication.getPrincipal()).uuid();
+    var jwt = (Jwt) authentication.getCredentials();
+    var userScope = jwt.getClaimAsString(USER_SCOPE_CLAIM);
+    if (userScope != null
+        && jwt.getClaim(SECURITY_VERSION_CLAIM) instanceof Number version
+        && securityVersions.isCurrent(uuid, version.longValue())) {
+      return createAuthResult(uuid, userScope, version.longValue());
+    }
+
+    return createAuthResult(uuid);
+  }
+
+  private AuthResponse createAuthResult(UUID uuid) {
+    // The version is taken before loading, so that a concurrent change invalidates it
+    var version = securityVersions.get(uuid);
+    var user = detailsService.loadUserByUUID(uuid);
     if (!user.isEnabled()) {
       throw new DisabledException("User is not found.");
     }
 
-    return createAuthResult(user);
+    return createAuthResult(uuid, JwtUtils.authoritiesToScope(user.getAuthorities()), version);
   }
 
-  private AuthResponse createAuthResult(ApiUserDetails user) {
+  private AuthResponse createAuthResult(UUID uuid, String scope, long version) {
     var issuer = jwtProperties.issuer();
-    var scope = JwtUtils.authoritiesToScope(user.getAuthorities());
-    var subject = user.uuid().toString();
+    var subject = uuid.toString();
     var accessToken =
         JwtUtils.creatToken(
             accessEncoder, issuer, subject, scope, jwtProperties.accessToken().ttl());
     var refreshToken =
         JwtUtils.creatToken(
-            refreshEncoder, issuer, subject, "refresh", jwtProperties.refreshToken().ttl());
+            refreshEncoder,
+            issuer,
+            subject,
+            "refresh",
+            jwtProperties.refreshToken().ttl(),
+            Map.of(SECURITY_VERSION_CLAIM, version, USER_SCOPE_CLAIM, scope));
 
     return new AuthResponse(
-        user.uuid(), accessToken, "Bearer", jwtProperties.accessToken().ttl(), refreshToken, scope);
+        uuid, accessToken, "Bearer", jwtProperties.accessToken().ttl(), refreshToken, scope);
   }
 }
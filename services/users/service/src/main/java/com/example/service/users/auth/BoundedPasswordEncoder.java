@@ -0,0 +1,110 @@
+package com.example.service.users.auth;
+
+import com.example.common.error.exception.InternalServerErrorException;
+import com.example.common.error.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder which runs a delegate encoder on a bounded pool of platform threads.
+ *
+ * <p>Password hashing is CPU bound and intentionally slow. Running it directly on virtual threads
+ * lets a burst of logins occupy all carrier threads, the pool limits hashing to a fixed number of
+ * threads and rejects requests with {@link ServiceUnavailableException} once the queue is full. A
+ * hash of an interrupted caller is cancelled.
+ *
+ * <p>Publishes the executor metrics under the {@code password.hashing} name and the hashing
+ * duration as the {@code password.hashing.duration} timer.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+  private static final String METRIC_NAME = "password.hashing";
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  public BoundedPasswordEncoder(
+      PasswordEncoder delegate, PasswordProperties properties, MeterRegistry meterRegistry) {
+
+    this.delegate = delegate;
+
+    var threads =
+        properties.threads() > 0
+            ? properties.threads()
+            : Runtime.getRuntime().availableProcessors();
+    executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            properties.queueCapacity() > 0
+                ? new LinkedBlockingQueue<>(properties.queueCapacity())
+                : new SynchronousQueue<>(),
+            Thread.ofPlatform().name(METRIC_NAME + '-', 0).daemon().factory());
+
+    ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+
+    var timerName = METRIC_NAME + ".duration";
+    encodeTimer = Timer.builder(timerName).tag("operation", "encode").register(meterRegistry);
+    matchesTimer = Timer.builder(timerName).tag("operation", "matches").register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(
+        () -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private <T> T execute(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException ex) {
+      throw new ServiceUnavailableException("Too many concurrent password checks", ex);
+    }
+
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new InternalServerErrorException("Password hashing failed", ex.getCause());
+    } catch (InterruptedException ex) {
+      // Frees the queue slot of a task which did not start yet
+      future.cancel(true);
+      executor.purge();
+
+      Thread.currentThread().interrupt();
+      throw new InternalServerErrorException("Password hashing was interrupted", ex);
+    }
+  }
+}
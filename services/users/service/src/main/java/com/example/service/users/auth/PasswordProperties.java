@@ -0,0 +1,71 @@
+package com.example.service.users.auth;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Password hashing properties.
+ *
+ * @param threads number of password hashing threads, {@code 0} means the number of available
+ *     processors
+ * @param queueCapacity maximum number of hashing requests waiting for a thread, further requests
+ *     are rejected
+ * @param algorithm algorithm of new password hashes, existing hashes of other algorithms or with
+ *     weaker parameters are re-hashed on successful login
+ * @param bcrypt BCrypt parameters
+ * @param argon2 Argon2 parameters
+ * @param pbkdf2 PBKDF2 parameters
+ */
+@ConfigurationProperties("auth.password")
+@Validated
+public record PasswordProperties(
+    @PositiveOrZero int threads,
+    @PositiveOrZero int queueCapacity,
+    @NotNull Algorithm algorithm,
+    @NotNull @Valid BCryptProperties bcrypt,
+    @NotNull @Valid Argon2Properties argon2,
+    @NotNull @Valid Pbkdf2Properties pbkdf2) {
+
+  public enum Algorithm {
+    BCRYPT,
+    ARGON2,
+    PBKDF2
+  }
+
+  /**
+   * BCrypt parameters.
+   *
+   * @param strength log2 of the number of rounds
+   */
+  public record BCryptProperties(@Min(4) @Max(31) int strength) {}
+
+  /**
+   * Argon2id parameters.
+   *
+   * @param saltLength salt length in bytes
+   * @param hashLength hash length in bytes
+   * @param parallelism number of lanes
+   * @param memory memory cost in KiB
+   * @param iterations number of iterations
+   */
+  public record Argon2Properties(
+      @Positive int saltLength,
+      @Positive int hashLength,
+      @Positive int parallelism,
+      @Positive int memory,
+      @Positive int iterations) {}
+
+  /**
+   * PBKDF2 with HMAC-SHA256 parameters.
+   *
+   * @param saltLength salt length in bytes
+   * @param iterations number of iterations
+   */
+  public record Pbkdf2Properties(@Positive int saltLength, @Positive int iterations) {}
+}
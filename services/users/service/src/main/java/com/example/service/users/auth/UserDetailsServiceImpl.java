@@ -1,17 +1,20 @@
 package com.example.service.users.auth;
 
-import static com.example.service.users.user.UserRepository.Spec.*;
-
-import com.example.service.users.role.model.RoleEntity;
+import com.example.service.users.user.UserCache;
+import com.example.service.users.user.UserChangeLog;
 import com.example.service.users.user.UserRepository;
-import com.example.service.users.user.model.UserEntity;
+import com.example.service.users.user.UserSnapshot;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -19,39 +22,60 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+  private final UserCache userCache;
+  private final UserChangeLog userChangeLog;
   private final UserRepository userRepository;
 
   @Override
   @Transactional(readOnly = true)
   public ApiUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    return userRepository
-        .fetchOne(withRoles(byEmail(username).and(byDeletedAt(null))))
+    return userCache
+        .findByEmail(username)
         .map(this::toAApiUser)
         .orElseThrow(() -> new UsernameNotFoundException("User is not found."));
   }
 
   @Transactional(readOnly = true)
   public ApiUserDetails loadUserByUUID(UUID uuid) throws UsernameNotFoundException {
-    return userRepository
-        .findOne(byUuid(uuid))
-        .filter(Predicate.not(UserEntity::isDeleted))
+    return userCache
+        .findByUuid(uuid)
+        .filter(Predicate.not(UserSnapshot::isDeleted))
         .map(this::toAApiUser)
         .orElseThrow(() -> new BadCredentialsException("User is not found."));
   }
 
-  private ApiUserDetails toAApiUser(UserEntity user) {
+  /** Stores the password re-hashed after a successful login. */
+  @Override
+  @Transactional
+  public ApiUserDetails updatePassword(UserDetails user, @Nullable String newPassword) {
+    var apiUser = (ApiUserDetails) user;
+    var password = Objects.requireNonNull(newPassword);
+
+    userRepository.updatePassword(apiUser.uuid(), password);
+    userChangeLog.publish(apiUser.uuid());
+
+    return new ApiUserDetails(
+        apiUser.uuid(),
+        apiUser.getUsername(),
+        password,
+        apiUser.isEnabled(),
+        apiUser.isAccountNonExpired(),
+        apiUser.isCredentialsNonExpired(),
+        apiUser.isAccountNonLocked(),
+        apiUser.getAuthorities());
+  }
+
+  private ApiUserDetails toAApiUser(UserSnapshot user) {
     return new ApiUserDetails(
-        user.getUuid(),
-        user.getEmail(),
-        user.getPassword(),
-        user.isEnabled(),
+        user.uuid(),
+        user.email(),
+        user.password(),
+        user.enabled(),
         true,
         true,
         true,
-        Stream.concat(
-                user.getRoles().stream().map(RoleEntity::getName).map(String::toUpperCase),
-                Stream.of("ROLE_USER"))
+        Stream.concat(user.roles().stream().map(String::toUpperCase), Stream.of("ROLE_USER"))
             .map(SimpleGrantedAuthority::new)
             .collect(Collectors.toUnmodifiableSet()));
   }
@@ -1,19 +1,34 @@
 package com.example.service.users.configuration;
 
 import com.example.autoconfigure.web.servlet.security.DefaultServletSecurityConfigurator;
+import com.example.service.users.auth.BoundedPasswordEncoder;
+import com.example.service.users.auth.PasswordProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
 @Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
 public class SecurityConfiguration extends DefaultServletSecurityConfigurator {
+  private static final String BCRYPT_ID = "bcrypt";
+  private static final String ARGON2_ID = "argon2";
+  private static final String PBKDF2_ID = "pbkdf2";
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+    return new BoundedPasswordEncoder(
+        createPasswordEncoder(passwordProperties), passwordProperties, meterRegistry);
   }
 
   @Override
@@ -27,4 +42,44 @@ public class SecurityConfiguration extends DefaultServletSecurityConfigurator {
         .requestMatchers(HttpMethod.POST, "/api/v1/users")
         .permitAll();
   }
+
+  /**
+   * Creates a delegating encoder which encodes passwords with the configured algorithm.
+   *
+   * <p>Hashes without the <code>{id}</code> prefix are legacy BCrypt hashes, they are verified and
+   * then upgraded to the configured algorithm.
+   */
+  static PasswordEncoder createPasswordEncoder(PasswordProperties properties) {
+    var argon2 = properties.argon2();
+    var pbkdf2 = properties.pbkdf2();
+    var bcryptEncoder = new BCryptPasswordEncoder(properties.bcrypt().strength());
+    var encoders =
+        Map.<String, PasswordEncoder>of(
+            BCRYPT_ID,
+            bcryptEncoder,
+            ARGON2_ID,
+            new Argon2PasswordEncoder(
+                argon2.saltLength(),
+                argon2.hashLength(),
+                argon2.parallelism(),
+                argon2.memory(),
+                argon2.iterations()),
+            PBKDF2_ID,
+            new Pbkdf2PasswordEncoder(
+                "",
+                pbkdf2.saltLength(),
+                pbkdf2.iterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+    var id =
+        switch (properties.algorithm()) {
+          case BCRYPT -> BCRYPT_ID;
+          case ARGON2 -> ARGON2_ID;
+          case PBKDF2 -> PBKDF2_ID;
+        };
+
+    var encoder = new DelegatingPasswordEncoder(id, encoders);
+    encoder.setDefaultPasswordEncoderForMatches(bcryptEncoder);
+    return encoder;
+  }
 }
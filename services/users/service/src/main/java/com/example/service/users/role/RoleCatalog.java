@@ -0,0 +1,241 @@
+package com.example.service.users.role;
+
+import com.example.common.data.TransactionUtils;
+import com.example.common.error.exception.NotFoundException;
+import com.example.service.users.role.model.RoleEntity_;
+import com.example.service.users.user.UserCache;
+import com.example.service.users.user.UserSecurityVersions;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory catalog of roles.
+ *
+ * <p>Roles number in the dozens and rarely change, so role reads are served from an immutable
+ * snapshot of the {@code role} table. The snapshot is loaded when the application is ready and
+ * swapped after a transaction which changed roles completes. Role changes also increment the
+ * version in the {@code role_catalog} table, which is polled to reload the snapshots of the other
+ * instances. A name or an id missing from the snapshot checks the version once, so that roles
+ * changed by other instances are resolved before the next poll. Cached users and security versions
+ * hold role names, so a version changed by another instance also invalidates them.
+ */
+@Component
+@Slf4j
+public class RoleCatalog {
+  private static final String ID = RoleEntity_.ID;
+  private static final String NAME = RoleEntity_.NAME;
+
+  private final RoleRepository roleRepository;
+  private final UserCache userCache;
+  private final UserSecurityVersions securityVersions;
+  private final TransactionTemplate transactionTemplate;
+  private final AtomicReference<@Nullable Snapshot> snapshot = new AtomicReference<>();
+
+  public RoleCatalog(
+      RoleRepository roleRepository,
+      UserCache userCache,
+      UserSecurityVersions securityVersions,
+      PlatformTransactionManager transactionManager) {
+
+    this.roleRepository = roleRepository;
+    this.userCache = userCache;
+    this.securityVersions = securityVersions;
+
+    // Snapshots are loaded after role changes complete, when the completed transaction may still be
+    // bound to the thread
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Returns the role names.
+   *
+   * @param sort sort order by {@code id} or {@code name}, unsorted names are ordered by id
+   * @return role names
+   */
+  public List<String> getNames(Sort sort) {
+    var roles = getSnapshot().roles();
+    if (sort.isSorted()) {
+      roles = roles.stream().sorted(toComparator(sort)).toList();
+    }
+
+    return roles.stream().map(Role::name).toList();
+  }
+
+  /**
+   * Resolves role names to role ids.
+   *
+   * @param names upper case role names
+   * @return role ids by role names
+   * @throws NotFoundException if some roles are not found
+   */
+  public Map<String, Long> getIds(Collection<String> names) throws NotFoundException {
+    var ids = getSnapshot().ids();
+    if (!ids.keySet().containsAll(names)) {
+      ids = refresh().ids();
+    }
+
+    var result = new HashMap<String, Long>(names.size());
+    var notFoundNames = new HashSet<String>();
+    for (var name : names) {
+      var id = ids.get(name);
+      if (id != null) {
+        result.put(name, id);
+      } else {
+        notFoundNames.add(name);
+      }
+    }
+
+    if (!notFoundNames.isEmpty()) {
+      throw new NotFoundException("Cannot find roles " + notFoundNames);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the name of a role.
+   *
+   * @param id role id
+   * @return role name
+   * @throws IllegalStateException if the role does not exist
+   */
+  public String getName(long id) {
+    var name = getSnapshot().names().get(id);
+    if (name == null) {
+      name = refresh().names().get(id);
+      if (name == null) {
+        throw new IllegalStateException("Role " + id + " does not exist");
+      }
+    }
+
+    return name;
+  }
+
+  /**
+   * Publishes a role change made in the current transaction.
+   *
+   * <p>Increments the catalog version, which also serializes concurrent role changes, and reloads
+   * the snapshot after the transaction completes.
+   */
+  public void publishChange() {
+    roleRepository.incrementCatalogVersion();
+    TransactionUtils.runAfterCompletion(this::load);
+  }
+
+  /** Loads the snapshot. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var loaded =
+        transactionTemplate.execute(
+            status -> {
+              // The version is read first, so that the roles are never older than the version
+              var version = roleRepository.getCatalogVersion();
+              var roles =
+                  roleRepository.findAll(Sort.by(ID)).stream()
+                      .map(r -> new Role(r.getId(), r.getName()))
+                      .toList();
+
+              return new Snapshot(version, roles);
+            });
+
+    if (loaded != null) {
+      // Concurrent loads must not replace a newer snapshot
+      snapshot.accumulateAndGet(
+          loaded,
+          (current, next) ->
+              current != null && current.version() > next.version() ? current : next);
+      log.debug("Loaded role catalog version {}", loaded.version());
+    }
+  }
+
+  /** Reloads the snapshot if roles were changed by another instance. */
+  @Scheduled(
+      fixedDelayString = "${roles.catalog.poll-interval}",
+      initialDelayString = "${roles.catalog.poll-interval}")
+  public void poll() {
+    refresh();
+  }
+
+  private Snapshot refresh() {
+    var current = snapshot.get();
+    if (current == null || current.version() != roleRepository.getCatalogVersion()) {
+      load();
+
+      // Roles changed by another instance, which only invalidated its own users
+      if (current != null) {
+        userCache.invalidateAll();
+        securityVersions.bumpAll();
+      }
+    }
+
+    return getSnapshot();
+  }
+
+  private Snapshot getSnapshot() {
+    var current = snapshot.get();
+    if (current == null) {
+      load();
+      current = snapshot.get();
+    }
+
+    if (current == null) {
+      throw new IllegalStateException("Role catalog is not loaded");
+    }
+
+    return current;
+  }
+
+  private static Comparator<Role> toComparator(Sort sort) {
+    Comparator<Role> result = null;
+    for (var order : sort) {
+      Comparator<Role> comparator =
+          switch (order.getProperty()) {
+            case ID -> Comparator.comparingLong(Role::id);
+            case NAME -> Comparator.comparing(Role::name);
+            default ->
+                throw new IllegalArgumentException(
+                    "Unsupported sort property " + order.getProperty());
+          };
+
+      if (order.isDescending()) {
+        comparator = comparator.reversed();
+      }
+
+      result = result == null ? comparator : result.thenComparing(comparator);
+    }
+
+    return result != null ? result : Comparator.comparingLong(Role::id);
+  }
+
+  private record Role(long id, String name) {}
+
+  private record Snapshot(
+      long version, List<Role> roles, Map<String, Long> ids, Map<Long, String> names) {
+
+    Snapshot(long version, List<Role> roles) {
+      this(
+          version,
+          roles,
+          roles.stream().collect(Collectors.toUnmodifiableMap(Role::name, Role::id)),
+          roles.stream().collect(Collectors.toUnmodifiableMap(Role::id, Role::name)));
+    }
+  }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Set;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface RoleRepository extends ExtendedJpaRepository<RoleEntity, Long> {
 
@@ -25,4 +27,13 @@ public interface RoleRepository extends ExtendedJpaRepository<RoleEntity, Long>
   }
 
   List<RoleEntity> findAll(Sort sort);
+
+  @Query(nativeQuery = true, value = "SELECT `version` FROM `role_catalog` WHERE `id` = 1")
+  long getCatalogVersion();
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "UPDATE `role_catalog` SET `version` = `version` + 1 WHERE `id` = 1")
+  void incrementCatalogVersion();
 }
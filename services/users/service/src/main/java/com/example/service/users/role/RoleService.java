@@ -11,12 +11,15 @@ import com.example.common.data.jpa.JpaUtils;
 import com.example.common.error.exception.BadRequestException;
 import com.example.common.error.exception.NotFoundException;
 import com.example.service.users.role.model.RoleEntity;
+import com.example.service.users.user.UserCache;
+import com.example.service.users.user.UserSecurityVersions;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -27,27 +30,39 @@ public class RoleService {
 
   private final RoleMapper roleMapper;
   private final RoleRepository roleRepository;
+  private final RoleCatalog roleCatalog;
+  private final UserCache userCache;
+  private final UserSecurityVersions securityVersions;
 
   @Transactional
   public RoleDto createRole(RoleDto request) {
-    return save(new RoleEntity(), request);
+    var role = save(new RoleEntity(), request);
+    roleCatalog.publishChange();
+    return role;
   }
 
+  // Served from the catalog snapshot without a transaction
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<String> getAllRoles(GetAllRolesRequest request) {
-    return roleRepository.findAll(DataUtils.parseSort(request.sort(), SORT_PROPERTIES)).stream()
-        .map(RoleEntity::getName)
-        .toList();
+    return roleCatalog.getNames(DataUtils.parseSort(request.sort(), SORT_PROPERTIES));
   }
 
   @Transactional
   public RoleDto updateRole(String name, RoleDto request) {
     checkRoleName(name);
 
-    return save(
-        roleRepository
-            .findOne(byName(name))
-            .orElseThrow(() -> new NotFoundException("Role is not found.")),
-        request);
+    var role =
+        save(
+            roleRepository
+                .findOne(byName(name))
+                .orElseThrow(() -> new NotFoundException("Role is not found.")),
+            request);
+
+    // Cached users and issued tokens hold role names
+    roleCatalog.publishChange();
+    userCache.invalidateAll();
+    securityVersions.bumpAll();
+    return role;
   }
 
   @Transactional
@@ -57,6 +72,10 @@ public class RoleService {
     if (roleRepository.delete(byName(name)) == 0) {
       throw new NotFoundException("Role is not found.");
     }
+
+    roleCatalog.publishChange();
+    userCache.invalidateAll();
+    securityVersions.bumpAll();
   }
 
   private RoleDto save(RoleEntity role, RoleDto request) {
@@ -0,0 +1,118 @@
+package com.example.service.users.user;
+
+import static com.example.service.users.user.UserRepository.Spec.*;
+
+import com.example.common.data.TransactionUtils;
+import com.example.common.data.jpa.JpaUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of {@link UserSnapshot user snapshots} looked up by UUID and by email.
+ *
+ * <p>Snapshots are stored by UUID only, the email cache maps emails to UUIDs and is verified
+ * against the snapshot on every lookup. Thus invalidating a UUID is enough to invalidate both
+ * lookups, even when the email of the user was changed.
+ *
+ * <p>The cache is local to the service instance. Changes made through other instances are published
+ * through the {@link UserChangeLog}, so they are seen after its poll interval.
+ */
+@Component
+public class UserCache {
+  private final UserRepository userRepository;
+  private final Cache<UUID, UserSnapshot> usersByUuid;
+  private final Cache<String, UUID> uuidsByEmail;
+
+  public UserCache(
+      UserProperties userProperties, UserRepository userRepository, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+
+    var properties = userProperties.cache();
+    usersByUuid =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.ttl())
+            .maximumSize(properties.size())
+            .recordStats()
+            .build();
+    uuidsByEmail =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.ttl())
+            .maximumSize(properties.size())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, usersByUuid, "users.by-uuid");
+    CaffeineCacheMetrics.monitor(meterRegistry, uuidsByEmail, "users.by-email");
+  }
+
+  /**
+   * Finds a user by UUID, including deleted users.
+   *
+   * @param uuid user UUID
+   * @return found user
+   */
+  public Optional<UserSnapshot> findByUuid(UUID uuid) {
+    return Optional.ofNullable(usersByUuid.get(uuid, this::loadByUuid));
+  }
+
+  /**
+   * Finds a not deleted user by email.
+   *
+   * @param email user email
+   * @return found user
+   */
+  public Optional<UserSnapshot> findByEmail(String email) {
+    var uuid = uuidsByEmail.getIfPresent(email);
+    if (uuid != null) {
+      var user = findByUuid(uuid, email);
+      if (user.isPresent()) {
+        return user;
+      }
+
+      uuidsByEmail.asMap().remove(email, uuid);
+    }
+
+    // Snapshots are only loaded through the cache, so that an invalidation waits for a concurrent
+    // load and then removes the loaded snapshot
+    uuid = userRepository.findUuid(email, JpaUtils.SOFT_NULL_INSTANT).orElse(null);
+    if (uuid == null) {
+      return Optional.empty();
+    }
+
+    var user = findByUuid(uuid, email);
+    if (user.isPresent()) {
+      uuidsByEmail.put(email, uuid);
+    }
+
+    return user;
+  }
+
+  /**
+   * Invalidates the user now and after the current transaction completes.
+   *
+   * @param uuid user UUID
+   */
+  public void invalidate(UUID uuid) {
+    TransactionUtils.runNowAndAfterCompletion(() -> usersByUuid.invalidate(uuid));
+  }
+
+  /** Invalidates all users now and after the current transaction completes. */
+  public void invalidateAll() {
+    TransactionUtils.runNowAndAfterCompletion(usersByUuid::invalidateAll);
+  }
+
+  // The email of the user can be changed after it was looked up
+  private Optional<UserSnapshot> findByUuid(UUID uuid, String email) {
+    return findByUuid(uuid).filter(u -> u.email().equalsIgnoreCase(email) && !u.isDeleted());
+  }
+
+  private @Nullable UserSnapshot loadByUuid(UUID uuid) {
+    return userRepository.fetchOne(withRoles(byUuid(uuid))).map(UserSnapshot::of).orElse(null);
+  }
+}
@@ -0,0 +1,165 @@
+package com.example.service.users.user;
+
+import com.example.common.uuid.UuidUtils;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Log of user changes shared by the service instances.
+ *
+ * <p>{@link UserCache Cached users} and {@link UserSecurityVersions security versions} are local to
+ * the instance. A change of users invalidates them on the instance which made the change and
+ * appends the changed UUIDs to the {@code user_change} table in the same transaction. The other
+ * instances poll the table and invalidate the changed users too, so they use stale users for at
+ * most the poll interval.
+ *
+ * <p>Every change increments the version in the {@code user_change_version} table. The increment
+ * locks the version row until the transaction completes, so changes are committed in the version
+ * order and all changes up to a read version are visible.
+ */
+@Component
+@Slf4j
+public class UserChangeLog {
+  // Larger changes invalidate all users instead of logging every UUID
+  private static final int MAX_LOGGED_USERS = 100;
+
+  private final UserProperties.ChangeLogProperties properties;
+  private final UserRepository userRepository;
+  private final UserCache userCache;
+  private final UserSecurityVersions securityVersions;
+  private final TransactionTemplate transactionTemplate;
+  private long version = -1;
+
+  public UserChangeLog(
+      UserProperties userProperties,
+      UserRepository userRepository,
+      UserCache userCache,
+      UserSecurityVersions securityVersions,
+      PlatformTransactionManager transactionManager) {
+
+    this.properties = userProperties.changeLog();
+    this.userRepository = userRepository;
+    this.userCache = userCache;
+    this.securityVersions = securityVersions;
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Publishes a change of the user made in the current transaction.
+   *
+   * @param uuid user UUID
+   */
+  public void publish(UUID uuid) {
+    invalidate(uuid);
+
+    userRepository.incrementChangeVersion();
+    userRepository.insertChange(UuidUtils.toBytes(uuid), now());
+  }
+
+  /**
+   * Publishes a change of the users made in the current transaction.
+   *
+   * @param uuids user UUIDs
+   */
+  public void publish(Collection<UUID> uuids) {
+    if (uuids.isEmpty()) {
+      return;
+    }
+
+    if (uuids.size() > MAX_LOGGED_USERS) {
+      publishAll();
+      return;
+    }
+
+    uuids.forEach(this::invalidate);
+
+    userRepository.incrementChangeVersion();
+    var createdAt = now();
+    for (var uuid : uuids) {
+      userRepository.insertChange(UuidUtils.toBytes(uuid), createdAt);
+    }
+  }
+
+  /** Publishes a change of all users made in the current transaction. */
+  public void publishAll() {
+    invalidateAll();
+
+    userRepository.incrementChangeVersion();
+    userRepository.insertChangeOfAll(now());
+  }
+
+  /** Reads the version, changes made before are not relevant for the empty caches. */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void init() {
+    if (version < 0) {
+      version = userRepository.getChangeVersion();
+    }
+  }
+
+  /** Invalidates the users changed by other instances. */
+  @Scheduled(
+      fixedDelayString = "${users.change-log.poll-interval}",
+      initialDelayString = "${users.change-log.poll-interval}")
+  public synchronized void poll() {
+    var current = userRepository.getChangeVersion();
+    if (version < 0) {
+      version = current;
+      return;
+    }
+
+    if (current == version) {
+      return;
+    }
+
+    var changes = userRepository.findChanges(version, current);
+    if (changes.isEmpty() || changes.getFirst().getVersion() != version + 1) {
+      // Changes were deleted before they were read, so the changed users are not known
+      log.warn("User changes after version {} are not available", version);
+      invalidateAll();
+    } else {
+      for (var change : changes) {
+        var uuid = change.getUuid();
+        if (uuid != null) {
+          invalidate(UuidUtils.fromBytes(uuid));
+        } else {
+          invalidateAll();
+        }
+      }
+    }
+
+    version = current;
+  }
+
+  /** Deletes changes older than the retention time. */
+  @Scheduled(
+      fixedDelayString = "${users.change-log.retention}",
+      initialDelayString = "${users.change-log.retention}")
+  public void purge() {
+    var before = now().minus(properties.retention());
+    var count = transactionTemplate.execute(status -> userRepository.deleteChanges(before));
+    log.debug("Deleted {} user changes", count);
+  }
+
+  private void invalidate(UUID uuid) {
+    userCache.invalidate(uuid);
+    securityVersions.bump(uuid);
+  }
+
+  private void invalidateAll() {
+    userCache.invalidateAll();
+    securityVersions.bumpAll();
+  }
+
+  private static LocalDateTime now() {
+    return LocalDateTime.now(ZoneOffset.UTC);
+  }
+}
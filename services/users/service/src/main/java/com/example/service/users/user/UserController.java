@@ -3,28 +3,47 @@ package com.example.service.users.user;
 import static com.example.service.users.user.UserService.Access.*;
 
 import com.example.client.users.user.UserBlockingClient;
+import com.example.client.users.user.dto.BulkRolesRequest;
+import com.example.client.users.user.dto.BulkUpdateResult;
 import com.example.client.users.user.dto.CountUsersRequest;
+import com.example.client.users.user.dto.ExportUsersRequest;
 import com.example.client.users.user.dto.FindUsersRequest;
+import com.example.client.users.user.dto.FindUsersResult;
+import com.example.client.users.user.dto.ImportUsersResult;
 import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.client.users.user.dto.RegisterUsersRequest;
 import com.example.client.users.user.dto.UpdateUserRequest;
 import com.example.client.users.user.dto.UserDto;
 import com.example.client.users.user.dto.UserDtoEx;
+import com.example.client.users.user.dto.UsersSelector;
 import com.example.common.dto.CountResult;
 import com.example.common.error.exception.BadRequestException;
 import com.example.common.security.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 @PreAuthorize("hasRole('ROLE_ADMIN')")
 public class UserController implements UserBlockingClient {
+  private static final String TEXT_CSV_VALUE = "text/csv";
+
   private final UserService userService;
+  private final UserCountService userCountService;
+  private final UserImportService userImportService;
 
   @Override
   @PreAuthorize("permitAll()")
@@ -32,6 +51,11 @@ public class UserController implements UserBlockingClient {
     return userService.registerUser(request);
   }
 
+  @Override
+  public List<UserDtoEx> registerUsers(RegisterUsersRequest request) {
+    return userService.registerUsers(request);
+  }
+
   @Override
   @PreAuthorize("isAuthenticated()")
   public UserDto getUser() {
@@ -45,12 +69,48 @@ public class UserController implements UserBlockingClient {
 
   @Override
   public List<UserDtoEx> findUsers(FindUsersRequest request) {
+    return userService.findUsers(request).users();
+  }
+
+  @Override
+  public FindUsersResult findUsersPage(FindUsersRequest request) {
     return userService.findUsers(request);
   }
 
+  @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Exports users",
+      description = "Streams found users as newline delimited JSON")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  public StreamingResponseBody exportUsers(ExportUsersRequest request) {
+    return out -> userService.exportUsers(request, out);
+  }
+
+  @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Imports users",
+      description =
+          "Registers users from newline delimited JSON, returns the number of imported users and"
+              + " the rejected rows")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  public ImportUsersResult importUsers(InputStream in) throws IOException {
+    return userImportService.importNdjson(in);
+  }
+
+  @PostMapping(path = "/import", consumes = TEXT_CSV_VALUE)
+  @Operation(
+      summary = "Imports users from CSV",
+      description =
+          "Registers users from CSV with the email, firstName, lastName and password columns,"
+              + " returns the number of imported users and the rejected rows")
+  @SecurityRequirement(name = "default", scopes = "admin")
+  public ImportUsersResult importUsersCsv(InputStream in) throws IOException {
+    return userImportService.importCsv(in);
+  }
+
   @Override
   public CountResult countUsers(CountUsersRequest request) {
-    return userService.countUsers(request);
+    return userCountService.countUsers(request);
   }
 
   @Override
@@ -76,6 +136,16 @@ public class UserController implements UserBlockingClient {
     userService.setUserEnabled(uuid, false);
   }
 
+  @Override
+  public BulkUpdateResult enableUsers(UsersSelector users) {
+    return new BulkUpdateResult(userService.setUsersEnabled(users, true, selfUuid()));
+  }
+
+  @Override
+  public BulkUpdateResult disableUsers(UsersSelector users) {
+    return new BulkUpdateResult(userService.setUsersEnabled(users, false, selfUuid()));
+  }
+
   @Override
   public void deleteUser(UUID uuid) {
     protectYourself(uuid, "delete");
@@ -98,6 +168,18 @@ public class UserController implements UserBlockingClient {
     userService.setRoles(uuid, roles, isSuper() ? SUPER : ADMIN);
   }
 
+  @Override
+  public BulkUpdateResult addRoles(BulkRolesRequest request) {
+    return new BulkUpdateResult(
+        userService.addRoles(request.users(), request.roles(), isSuper() ? SUPER : ADMIN));
+  }
+
+  @Override
+  public BulkUpdateResult removeRoles(BulkRolesRequest request) {
+    return new BulkUpdateResult(
+        userService.removeRoles(request.users(), request.roles(), isSuper() ? SUPER : ADMIN));
+  }
+
   private static UUID selfUuid() {
     return SecurityUtils.getUserUUID(SecurityContextHolder.getContext());
   }
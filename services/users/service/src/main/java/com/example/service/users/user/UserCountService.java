@@ -0,0 +1,74 @@
+package com.example.service.users.user;
+
+import com.example.client.users.user.dto.CountUsersRequest;
+import com.example.common.data.jpa.JpaUtils;
+import com.example.common.dto.CountResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import java.util.Locale;
+import org.hibernate.dialect.MySQLDialect;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts users.
+ *
+ * <p>Counts are cached for a short time, so that frequently polled counts do not scan the {@code
+ * user} table on every request. Unfiltered counts can be estimated from the optimizer statistics,
+ * estimated results are reported as not {@link CountResult#exact() exact}.
+ */
+@Service
+public class UserCountService {
+  private final EntityManager em;
+  private final UserService userService;
+  private final UserRepository userRepository;
+  private final Cache<CountUsersRequest, CountResult> cache;
+
+  public UserCountService(
+      UserProperties userProperties,
+      EntityManager em,
+      UserService userService,
+      UserRepository userRepository) {
+
+    this.em = em;
+    this.userService = userService;
+    this.userRepository = userRepository;
+
+    var properties = userProperties.count();
+    cache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.cacheTtl())
+            .maximumSize(properties.cacheSize())
+            .build();
+  }
+
+  public CountResult countUsers(CountUsersRequest request) {
+    var search = UserService.normalizeSearch(request.search());
+    var estimate =
+        Boolean.TRUE.equals(request.estimate())
+            && search == null
+            && request.enabled() == null
+            && request.deleted() == null;
+
+    // The search is matched case-insensitively, like the collation of the searched columns does,
+    // so that case variants of a search share the count
+    var normalized = request.toBuilder().search(search).estimate(estimate).build();
+    var key =
+        normalized.toBuilder()
+            .search(search != null ? search.toLowerCase(Locale.ROOT) : null)
+            .build();
+    return cache.get(
+        key, k -> estimate ? estimateUsers(normalized) : userService.countUsers(normalized));
+  }
+
+  private CountResult estimateUsers(CountUsersRequest request) {
+    if (!(JpaUtils.getDialect(em) instanceof MySQLDialect)) {
+      return userService.countUsers(request);
+    }
+
+    return userRepository
+        .estimateCount(em)
+        .map(count -> new CountResult(count, false))
+        .orElseGet(() -> userService.countUsers(request));
+  }
+}
@@ -0,0 +1,427 @@
+package com.example.service.users.user;
+
+import static com.example.service.users.user.UserRepository.Spec.*;
+
+import com.example.client.users.user.dto.ImportUserError;
+import com.example.client.users.user.dto.ImportUsersResult;
+import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.common.data.jpa.JpaUtils;
+import com.example.common.error.exception.BadRequestException;
+import com.example.common.error.exception.ConflictException;
+import com.example.common.error.exception.InternalServerErrorException;
+import com.example.service.users.user.model.UserEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Imports users from NDJSON or CSV streams.
+ *
+ * <p>Rows are read one by one and imported in chunks, so the memory usage does not depend on the
+ * size of the input. For every chunk, existing emails are looked up with one query, passwords are
+ * hashed in parallel and the users are inserted with JDBC batches in a separate transaction.
+ * Duplicate emails are detected within a chunk, duplicates of rows imported by earlier chunks are
+ * found in the database.
+ *
+ * <p>Malformed rows, invalid rows, email conflicts and failed password hashing, like a rejection by
+ * the saturated hashing pool, are reported per row and do not abort the import. All rejected rows
+ * are counted, but only the first {@link UserProperties.ImportProperties#maxErrors() maxErrors} of
+ * them are reported. If a concurrent registration makes the batch fail, the chunk is inserted row
+ * by row.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+  private static final String EMAIL_CONSTRAINT = "user.user_email_uk";
+  private static final String EMAIL_EXISTS = "Email already exists";
+  private static final List<String> CSV_COLUMNS =
+      List.of("email", "firstName", "lastName", "password");
+
+  private final UserProperties.ImportProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final PasswordEncoder passwordEncoder;
+  private final UserMapper userMapper;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public UserImportService(
+      UserProperties userProperties,
+      ObjectMapper objectMapper,
+      Validator validator,
+      PasswordEncoder passwordEncoder,
+      UserMapper userMapper,
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager) {
+
+    this.properties = userProperties.bulkImport();
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.passwordEncoder = passwordEncoder;
+    this.userMapper = userMapper;
+    this.userRepository = userRepository;
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Imports users from newline delimited JSON of {@link RegisterUserRequest} objects.
+   *
+   * @param in input stream
+   * @return import result
+   * @throws IOException if reading the input stream fails
+   */
+  public ImportUsersResult importNdjson(InputStream in) throws IOException {
+    var reader = objectMapper.readerFor(RegisterUserRequest.class);
+    return importRows(
+        toReader(in),
+        1,
+        line -> {
+          RegisterUserRequest request;
+          try {
+            request = reader.readValue(line);
+          } catch (JsonProcessingException ex) {
+            throw new MalformedRowException("Malformed JSON");
+          }
+
+          if (request == null) {
+            throw new MalformedRowException("Row is not an object");
+          }
+
+          return request;
+        });
+  }
+
+  /**
+   * Imports users from CSV with the {@code email}, {@code firstName}, {@code lastName} and {@code
+   * password} columns named in the header.
+   *
+   * @param in input stream
+   * @return import result
+   * @throws BadRequestException if the header is missing or incomplete
+   * @throws IOException if reading the input stream fails
+   */
+  public ImportUsersResult importCsv(InputStream in) throws IOException {
+    var reader = toReader(in);
+    var headerLine = reader.readLine();
+    if (headerLine == null) {
+      throw new BadRequestException("CSV header is missing");
+    }
+
+    List<String> header;
+    try {
+      header = parseCsv(headerLine);
+    } catch (MalformedRowException ex) {
+      throw new BadRequestException("Malformed CSV header", ex);
+    }
+
+    var indexes = CSV_COLUMNS.stream().mapToInt(header::indexOf).toArray();
+    if (header.size() != new HashSet<>(header).size()
+        || Arrays.stream(indexes).anyMatch(i -> i < 0)) {
+      throw new BadRequestException("CSV header must name the columns " + CSV_COLUMNS + " once");
+    }
+
+    return importRows(
+        reader,
+        2,
+        line -> {
+          var fields = parseCsv(line);
+          if (fields.size() != header.size()) {
+            throw new MalformedRowException(
+                "Expected " + header.size() + " fields, found " + fields.size());
+          }
+
+          return new RegisterUserRequest(
+              fields.get(indexes[0]),
+              fields.get(indexes[1]),
+              fields.get(indexes[2]),
+              fields.get(indexes[3]));
+        });
+  }
+
+  private ImportUsersResult importRows(BufferedReader reader, long firstLine, RowParser parser)
+      throws IOException {
+
+    var errors = new ImportErrors(properties.maxErrors());
+    var emails = new HashSet<String>();
+    var chunk = new ArrayList<Row>(properties.chunkSize());
+    var imported = 0;
+
+    try (var executor =
+        Executors.newFixedThreadPool(
+            properties.hashConcurrency(), Thread.ofVirtual().name("user-import-", 0).factory())) {
+
+      var lineNumber = firstLine - 1;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+
+        RegisterUserRequest request;
+        try {
+          request = parser.parse(line);
+        } catch (MalformedRowException ex) {
+          errors.add(new ImportUserError(lineNumber, null, ex.reason));
+          continue;
+        }
+
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+          errors.add(new ImportUserError(lineNumber, request.email(), format(violations)));
+        } else if (!emails.add(normalize(request.email()))) {
+          errors.add(
+              new ImportUserError(lineNumber, request.email(), "Email is duplicated in the input"));
+        } else {
+          chunk.add(new Row(lineNumber, request));
+          if (chunk.size() == properties.chunkSize()) {
+            imported += importChunk(chunk, executor, errors);
+            chunk.clear();
+            emails.clear();
+          }
+        }
+      }
+
+      if (!chunk.isEmpty()) {
+        imported += importChunk(chunk, executor, errors);
+      }
+    }
+
+    log.info("Imported {} users, rejected {} rows", imported, errors.rejected);
+
+    return new ImportUsersResult(imported, errors.rejected, errors.toList());
+  }
+
+  private int importChunk(List<Row> rows, ExecutorService executor, ImportErrors errors) {
+    var existingEmails =
+        userRepository
+            .findAll(
+                byEmails(rows.stream().map(r -> r.request().email()).toList())
+                    .and(byDeletedAt(null)))
+            .stream()
+            .map(u -> normalize(u.getEmail()))
+            .collect(Collectors.toSet());
+
+    var newRows = new ArrayList<Row>(rows.size());
+    for (var row : rows) {
+      if (existingEmails.contains(normalize(row.request().email()))) {
+        errors.add(conflict(row));
+      } else {
+        newRows.add(row);
+      }
+    }
+
+    var newUsers = toEntities(newRows, executor, errors);
+    var users = newUsers.stream().map(NewUser::user).toList();
+    try {
+      transactionTemplate.executeWithoutResult(status -> userRepository.insertAll(users));
+      return users.size();
+    } catch (DataIntegrityViolationException ex) {
+      // Some emails were registered concurrently, find them row by row
+      var imported = 0;
+      for (var newUser : newUsers) {
+        try {
+          transactionTemplate.executeWithoutResult(
+              status -> userRepository.insertAll(List.of(newUser.user())));
+          imported++;
+        } catch (DataIntegrityViolationException rowEx) {
+          try {
+            JpaUtils.processConstraintViolation(rowEx, EMAIL_CONSTRAINT, null);
+          } catch (ConflictException conflictEx) {
+            errors.add(conflict(newUser.row()));
+          }
+        }
+      }
+
+      return imported;
+    }
+  }
+
+  private List<NewUser> toEntities(List<Row> rows, ExecutorService executor, ImportErrors errors) {
+
+    // Matches the precision of the "created_at" column
+    var createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    var futures = new ArrayList<Future<UserEntity>>(rows.size());
+    for (var row : rows) {
+      futures.add(executor.submit(() -> toEntity(row.request(), createdAt)));
+    }
+
+    var users = new ArrayList<NewUser>(rows.size());
+    for (var i = 0; i < rows.size(); i++) {
+      var row = rows.get(i);
+      try {
+        users.add(new NewUser(row, futures.get(i).get()));
+      } catch (ExecutionException ex) {
+        errors.add(new ImportUserError(row.line(), row.request().email(), hashError(ex)));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InternalServerErrorException("User import was interrupted", ex);
+      }
+    }
+
+    return users;
+  }
+
+  private UserEntity toEntity(RegisterUserRequest request, Instant createdAt) {
+    var user = UserEntity.createForInsert();
+    userMapper.update(user, request);
+    user.setPassword(passwordEncoder.encode(request.password()));
+    user.setCreatedAt(createdAt);
+
+    return user;
+  }
+
+  // Rejections of the hashing pool carry their reason, other failures are not exposed
+  private static String hashError(ExecutionException ex) {
+    if (ex.getCause() instanceof ResponseStatusException cause) {
+      var reason = cause.getReason();
+      if (reason != null) {
+        return reason;
+      }
+    }
+
+    log.warn("Password hashing failed", ex.getCause());
+    return "Password hashing failed";
+  }
+
+  private static ImportUserError conflict(Row row) {
+    return new ImportUserError(row.line(), row.request().email(), EMAIL_EXISTS);
+  }
+
+  private static String format(Set<ConstraintViolation<RegisterUserRequest>> violations) {
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  // Emails are compared case-insensitively, like the "user_email_uk" index does
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+
+  private static BufferedReader toReader(InputStream in) {
+    return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Splits a CSV line into fields.
+   *
+   * <p>Fields can be enclosed in double quotes, double quotes inside quoted fields are escaped by
+   * doubling. Line breaks inside fields are not supported.
+   */
+  private static List<String> parseCsv(String line) throws MalformedRowException {
+    var fields = new ArrayList<String>();
+    var field = new StringBuilder();
+    var i = 0;
+    while (true) {
+      if (i < line.length() && line.charAt(i) == '"') {
+        i++;
+        while (true) {
+          if (i >= line.length()) {
+            throw new MalformedRowException("Unterminated quoted field");
+          }
+
+          var c = line.charAt(i++);
+          if (c != '"') {
+            field.append(c);
+          } else if (i < line.length() && line.charAt(i) == '"') {
+            field.append('"');
+            i++;
+          } else {
+            break;
+          }
+        }
+
+        if (i < line.length() && line.charAt(i) != ',') {
+          throw new MalformedRowException("Unexpected character after quoted field");
+        }
+      } else {
+        while (i < line.length() && line.charAt(i) != ',') {
+          field.append(line.charAt(i++));
+        }
+      }
+
+      fields.add(field.toString());
+      field.setLength(0);
+      if (i >= line.length()) {
+        return fields;
+      }
+
+      i++;
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowParser {
+    RegisterUserRequest parse(String line) throws MalformedRowException;
+  }
+
+  private record Row(long line, RegisterUserRequest request) {}
+
+  /** Counts rejected rows and keeps the ones with the lowest line numbers. */
+  private static final class ImportErrors {
+    private final int maxErrors;
+    private final PriorityQueue<ImportUserError> errors =
+        new PriorityQueue<>(Comparator.comparingLong(ImportUserError::line).reversed());
+    private int rejected;
+
+    ImportErrors(int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    void add(ImportUserError error) {
+      rejected++;
+      errors.add(error);
+      if (errors.size() > maxErrors) {
+        errors.poll();
+      }
+    }
+
+    List<ImportUserError> toList() {
+      return errors.stream().sorted(Comparator.comparingLong(ImportUserError::line)).toList();
+    }
+  }
+
+  private record NewUser(Row row, UserEntity user) {}
+
+  private static final class MalformedRowException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    MalformedRowException(String reason) {
+      super(reason, null, false, false);
+      this.reason = reason;
+    }
+  }
+}
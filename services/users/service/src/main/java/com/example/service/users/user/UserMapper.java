@@ -23,4 +23,8 @@ public interface UserMapper {
   UserDto toUserDto(UserEntity entity);
 
   UserDtoEx toUserDtoEx(UserEntity entity);
+
+  UserDto toUserDto(UserSnapshot snapshot);
+
+  UserDtoEx toUserDtoEx(UserSnapshot snapshot);
 }
@@ -0,0 +1,78 @@
+package com.example.service.users.user;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * User properties.
+ *
+ * @param export user export properties
+ * @param count user count properties
+ * @param cache user cache properties
+ * @param securityVersion security version properties
+ * @param bulkImport user import properties
+ * @param changeLog user change log properties
+ */
+@ConfigurationProperties("users")
+@Validated
+public record UserProperties(
+    @NotNull @Valid ExportProperties export,
+    @NotNull @Valid CountProperties count,
+    @NotNull @Valid CacheProperties cache,
+    @NotNull @Valid CacheProperties securityVersion,
+    @NotNull @Valid ImportProperties bulkImport,
+    @NotNull @Valid ChangeLogProperties changeLog) {
+
+  /**
+   * User export properties.
+   *
+   * @param fetchSize JDBC fetch size, {@code Integer.MIN_VALUE} makes MySQL Connector/J stream the
+   *     result set row by row
+   * @param flushSize number of exported rows after which the output is flushed and the persistence
+   *     context is cleared
+   */
+  public record ExportProperties(int fetchSize, @Positive int flushSize) {}
+
+  /**
+   * User import properties.
+   *
+   * @param chunkSize number of users inserted in one transaction
+   * @param hashConcurrency number of passwords hashed in parallel by an import or a bulk
+   *     registration, should not exceed the password hashing queue capacity so that concurrent
+   *     logins are not rejected
+   * @param maxErrors maximum number of rejected rows reported by an import, further rejected rows
+   *     are only counted
+   */
+  public record ImportProperties(
+      @Positive int chunkSize, @Positive int hashConcurrency, @Positive int maxErrors) {}
+
+  /**
+   * User count properties.
+   *
+   * @param cacheTtl time to live of cached counts
+   * @param cacheSize maximum number of cached counts
+   */
+  public record CountProperties(@NotNull Duration cacheTtl, @Positive int cacheSize) {}
+
+  /**
+   * Cache properties.
+   *
+   * @param ttl time to live of cached entries
+   * @param size maximum number of cached entries
+   */
+  public record CacheProperties(@NotNull Duration ttl, @Positive int size) {}
+
+  /**
+   * User change log properties.
+   *
+   * @param pollInterval interval of polling changes made by other instances, bounds how long other
+   *     instances use cached users and security versions after a change
+   * @param retention time after which changes are deleted, an instance which did not poll for
+   *     longer invalidates all users
+   */
+  public record ChangeLogProperties(@NotNull Duration pollInterval, @NotNull Duration retention) {}
+}
@@ -2,13 +2,20 @@ package com.example.service.users.user;
 
 import com.example.common.data.jpa.JpaUtils;
 import com.example.common.data.jpa.repository.support.ExtendedJpaRepository;
+import com.example.common.uuid.UuidUtils;
 import com.example.service.users.user.model.UserEntity;
 import com.example.service.users.user.model.UserEntity_;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
@@ -17,6 +24,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends ExtendedJpaRepository<UserEntity, Long> {
+  String INSERT_SQL =
+      "INSERT INTO `user` (`uuid`, `email`, `enabled`, `first_name`, `last_name`, `password`,"
+          + " `created_at`, `deleted_at`) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  /** User id and one of the role ids of the user. */
+  interface UserRoleId {
+    long getUserId();
+
+    @Nullable Long getRoleId();
+  }
+
+  interface UserChange {
+    long getVersion();
+
+    byte @Nullable [] getUuid();
+  }
 
   interface Spec {
     static Specification<UserEntity> byUuid(UUID uuid) {
@@ -27,6 +50,10 @@ public interface UserRepository extends ExtendedJpaRepository<UserEntity, Long>
       return (root, query, builder) -> builder.equal(root.get(UserEntity_.email), email);
     }
 
+    static Specification<UserEntity> byEmails(Collection<String> emails) {
+      return (root, query, builder) -> root.get(UserEntity_.email).in(emails);
+    }
+
     static Specification<UserEntity> byDeletedAt(@Nullable Instant deletedAt) {
       return (root, query, builder) ->
           builder.equal(
@@ -55,9 +82,220 @@ public interface UserRepository extends ExtendedJpaRepository<UserEntity, Long>
     return em.createQuery(update).executeUpdate();
   }
 
+  /**
+   * Inserts new users with JDBC batches.
+   *
+   * <p>The users are not managed by the persistence context afterwards, roles are not inserted.
+   *
+   * @param users users to be inserted, the creation timestamps must be set
+   */
+  @Transactional
+  default void insertAll(List<UserEntity> users) {
+    batchInsert(
+        users,
+        INSERT_SQL,
+        (ps, user) -> {
+          ps.setBytes(1, UuidUtils.toBytes(user.getUuid()));
+          ps.setString(2, user.getEmail());
+          ps.setBoolean(3, user.isEnabled());
+          ps.setString(4, user.getFirstName());
+          ps.setString(5, user.getLastName());
+          ps.setString(6, user.getPassword());
+          ps.setObject(7, LocalDateTime.ofInstant(user.getCreatedAt(), ZoneOffset.UTC));
+          ps.setString(8, JpaUtils.SOFT_NULL_DATETIME_STR);
+        },
+        UserEntity::setId);
+  }
+
+  /**
+   * Returns the MySQL optimizer estimate of the number of rows in the {@code user} table.
+   *
+   * <p>Only works with MySQL. {@code information_schema} caches table statistics for {@code
+   * information_schema_stats_expiry} seconds, a day by default, so the cache is bypassed for this
+   * query and the current InnoDB statistics are read. The statistics are still an estimate which
+   * InnoDB updates after about 10% of the rows changed.
+   *
+   * @param em entity manager
+   * @return estimated number of rows
+   */
+  @Transactional
+  default Optional<Long> estimateCount(EntityManager em) {
+    em.createNativeQuery("SET SESSION `information_schema_stats_expiry` = 0").executeUpdate();
+    try {
+      return estimateTableRows();
+    } finally {
+      // Pooled connections keep session variables
+      em.createNativeQuery("SET SESSION `information_schema_stats_expiry` = DEFAULT")
+          .executeUpdate();
+    }
+  }
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "SELECT CAST(`TABLE_ROWS` AS SIGNED) FROM `information_schema`.`TABLES`"
+              + " WHERE `TABLE_SCHEMA` = DATABASE() AND `TABLE_NAME` = 'user'")
+  Optional<Long> estimateTableRows();
+
+  /**
+   * Returns the id of a user with the ids of the user roles, one row per role.
+   *
+   * <p>A user without roles is returned as a single row without a role id.
+   *
+   * @param uuid user UUID bytes
+   * @param all whether disabled and deleted users are returned
+   * @return found rows, empty if the user is not found
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          "SELECT u.`id` AS `userId`, ur.`role_id` AS `roleId` FROM `user` u"
+              + " LEFT JOIN `user_role` ur ON ur.`user_id` = u.`id`"
+              + " WHERE u.`uuid` = :uuid AND (:all OR (u.`enabled` = 1"
+              + " AND u.`deleted_at` = '"
+              + JpaUtils.SOFT_NULL_DATETIME_STR
+              + "'))")
+  List<UserRoleId> findRoleIds(@Param("uuid") byte[] uuid, @Param("all") boolean all);
+
+  /**
+   * Adds and removes roles of a user with a single JDBC batch.
+   *
+   * @param em entity manager
+   * @param userId user id
+   * @param addRoleIds ids of the roles to add
+   * @param removeRoleIds ids of the roles to remove
+   */
+  @Transactional
+  default void updateRoleIds(
+      EntityManager em, long userId, Collection<Long> addRoleIds, Collection<Long> removeRoleIds) {
+
+    if (addRoleIds.isEmpty() && removeRoleIds.isEmpty()) {
+      return;
+    }
+
+    // The statements differ, so they are batched as plain SQL, which only holds numeric ids
+    em.unwrap(Session.class)
+        .doWork(
+            con -> {
+              try (var statement = con.createStatement()) {
+                if (!removeRoleIds.isEmpty()) {
+                  statement.addBatch(
+                      "DELETE FROM `user_role` WHERE `user_id` = "
+                          + userId
+                          + " AND `role_id` IN("
+                          + removeRoleIds.stream()
+                              .map(String::valueOf)
+                              .collect(Collectors.joining(", "))
+                          + ')');
+                }
+
+                if (!addRoleIds.isEmpty()) {
+                  statement.addBatch(
+                      "INSERT INTO `user_role` (`user_id`, `role_id`) VALUES "
+                          + addRoleIds.stream()
+                              .map(id -> "(" + userId + ", " + id + ')')
+                              .collect(Collectors.joining(", ")));
+                }
+
+                statement.executeBatch();
+              }
+            });
+  }
+
+  /**
+   * Adds the roles to the users, skipping roles the users already have.
+   *
+   * @param userIds user ids
+   * @param roleIds role ids
+   * @return number of added user roles
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO `user_role` (`user_id`, `role_id`)"
+              + " SELECT u.`id`, r.`id` FROM `user` u CROSS JOIN `role` r"
+              + " WHERE u.`id` IN(:userIds) AND r.`id` IN(:roleIds)"
+              + " AND NOT EXISTS (SELECT 1 FROM `user_role` ur"
+              + " WHERE ur.`user_id` = u.`id` AND ur.`role_id` = r.`id`)")
+  int insertRoles(
+      @Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
+  /**
+   * Removes the roles from the users.
+   *
+   * @param userIds user ids
+   * @param roleIds role ids
+   * @return number of removed user roles
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM `user_role` WHERE `user_id` IN(:userIds) AND `role_id` IN(:roleIds)")
+  int deleteRoles(
+      @Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
+  @Query("SELECT u.uuid FROM UserEntity u WHERE u.email = :email AND u.deletedAt = :deletedAt")
+  Optional<UUID> findUuid(@Param("email") String email, @Param("deletedAt") Instant deletedAt);
+
+  @Modifying
+  @Query("UPDATE UserEntity u SET u.password = :password WHERE u.uuid = :uuid")
+  void updatePassword(@Param("uuid") UUID uuid, @Param("password") String password);
+
+  @Query(nativeQuery = true, value = "SELECT `version` FROM `user_change_version` WHERE `id` = 1")
+  long getChangeVersion();
+
+  /**
+   * Increments the version of the user change log, which also serializes concurrent changes until
+   * the transaction completes, so that changes are committed in the version order.
+   */
   @Modifying
   @Query(
       nativeQuery = true,
-      value = "DELETE FROM `user_role` WHERE `user_id`=:userId AND `role_id` IN(:roleIds)")
-  void deleteRolesByIds(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds);
+      value = "UPDATE `user_change_version` SET `version` = `version` + 1 WHERE `id` = 1")
+  void incrementChangeVersion();
+
+  /**
+   * Appends a change of a user to the change log with the current version.
+   *
+   * @param uuid user UUID
+   * @param createdAt UTC creation time
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO `user_change` (`version`, `uuid`, `created_at`)"
+              + " SELECT `version`, :uuid, :createdAt FROM `user_change_version` WHERE `id` = 1")
+  void insertChange(@Param("uuid") byte[] uuid, @Param("createdAt") LocalDateTime createdAt);
+
+  /**
+   * Appends a change of all users to the change log with the current version.
+   *
+   * @param createdAt UTC creation time
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO `user_change` (`version`, `uuid`, `created_at`)"
+              + " SELECT `version`, NULL, :createdAt FROM `user_change_version` WHERE `id` = 1")
+  void insertChangeOfAll(@Param("createdAt") LocalDateTime createdAt);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "SELECT `version`, `uuid` FROM `user_change`"
+              + " WHERE `version` > :from AND `version` <= :to ORDER BY `version`")
+  List<UserChange> findChanges(@Param("from") long from, @Param("to") long to);
+
+  /**
+   * Deletes changes older than the given time.
+   *
+   * @param before UTC time
+   * @return number of deleted changes
+   */
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM `user_change` WHERE `created_at` < :before")
+  int deleteChanges(@Param("before") LocalDateTime before);
 }
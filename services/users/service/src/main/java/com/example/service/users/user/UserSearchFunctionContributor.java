@@ -0,0 +1,39 @@
+package com.example.service.users.user;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@value #FUNCTION_NAME} function which matches the email, first name and last name
+ * columns against the {@code user_search_ft} full-text index.
+ *
+ * <p>The function is only registered for MySQL, other databases fall back to {@code LIKE}
+ * predicates.
+ *
+ * <p>The full-text search finds the same rows as {@code LIKE} only if the index was created with
+ * {@code innodb_ft_enable_stopword} disabled, which the migration does for its session, and the
+ * server runs with the default {@code ngram_token_size} of 2. Rebuilding the index with stopwords
+ * enabled makes searches for words containing a stopword, like "ma" or "com", find nothing.
+ */
+public class UserSearchFunctionContributor implements FunctionContributor {
+  public static final String FUNCTION_NAME = "user_search";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    if (!(functionContributions.getDialect() instanceof MySQLDialect)) {
+      return;
+    }
+
+    functionContributions
+        .getFunctionRegistry()
+        .registerPattern(
+            FUNCTION_NAME,
+            "match(?1, ?2, ?3) against(?4 in boolean mode)",
+            functionContributions
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE));
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.service.users.user;
+
+import com.example.common.data.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory security versions of users.
+ *
+ * <p>A version is a random number assigned to a user on first use and embedded into issued tokens.
+ * Changes of the user roles, enabled flag or deletion {@link #bump(UUID) bump} the version, so
+ * tokens with a matching version still describe the current user and can be refreshed without
+ * loading the user. Versions are local to the service instance, changes made through other
+ * instances bump them through the {@link UserChangeLog} after its poll interval.
+ */
+@Component
+public class UserSecurityVersions {
+  private final Cache<UUID, Long> versions;
+
+  public UserSecurityVersions(UserProperties userProperties) {
+    var properties = userProperties.securityVersion();
+    versions =
+        Caffeine.newBuilder()
+            .expireAfterWrite(properties.ttl())
+            .maximumSize(properties.size())
+            .build();
+  }
+
+  /**
+   * Returns the current version of the user, assigning a new one if there is none.
+   *
+   * <p>Must be called before the user is loaded, so that a concurrent bump invalidates the returned
+   * version.
+   *
+   * @param uuid user UUID
+   * @return current version
+   */
+  public long get(UUID uuid) {
+    return Objects.requireNonNull(versions.get(uuid, k -> ThreadLocalRandom.current().nextLong()));
+  }
+
+  /**
+   * Checks whether the version is the current version of the user.
+   *
+   * @param uuid user UUID
+   * @param version version to check
+   * @return {@code true} if the version is current
+   */
+  public boolean isCurrent(UUID uuid, long version) {
+    var current = versions.getIfPresent(uuid);
+    return current != null && current == version;
+  }
+
+  /**
+   * Bumps the version of the user now and after the current transaction completes.
+   *
+   * @param uuid user UUID
+   */
+  public void bump(UUID uuid) {
+    TransactionUtils.runNowAndAfterCompletion(() -> versions.invalidate(uuid));
+  }
+
+  /** Bumps versions of all users now and after the current transaction completes. */
+  public void bumpAll() {
+    TransactionUtils.runNowAndAfterCompletion(versions::invalidateAll);
+  }
+}
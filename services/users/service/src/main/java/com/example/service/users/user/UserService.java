@@ -6,63 +6,110 @@ import static java.util.function.Predicate.not;
 import com.example.client.users.user.dto.CountUsersRequest;
 import com.example.client.users.user.dto.FindUsersFilter;
 import com.example.client.users.user.dto.FindUsersRequest;
+import com.example.client.users.user.dto.FindUsersResult;
 import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.client.users.user.dto.RegisterUsersRequest;
 import com.example.client.users.user.dto.UpdateUserRequest;
 import com.example.client.users.user.dto.UserData;
 import com.example.client.users.user.dto.UserDto;
 import com.example.client.users.user.dto.UserDtoEx;
+import com.example.client.users.user.dto.UsersSelector;
 import com.example.common.data.DataUtils;
 import com.example.common.data.OffsetPageRequest;
+import com.example.common.data.SeekCursor;
 import com.example.common.data.jpa.JpaUtils;
 import com.example.common.dto.CountResult;
+import com.example.common.error.exception.BadRequestException;
+import com.example.common.error.exception.ConflictException;
+import com.example.common.error.exception.InternalServerErrorException;
 import com.example.common.error.exception.NotFoundException;
+import com.example.common.uuid.UuidUtils;
+import com.example.service.users.role.RoleCatalog;
 import com.example.service.users.role.RoleRepository;
-import com.example.service.users.role.model.RoleEntity;
 import com.example.service.users.user.model.UserEntity;
 import com.example.service.users.user.model.UserEntity_;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.metamodel.Attribute;
-import java.sql.Connection;
-import java.sql.SQLException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
 import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
+@EnableConfigurationProperties(UserProperties.class)
 public class UserService {
   private static final String USER_NOT_FOUND = "User is not found.";
-  private static final Set<String> SORT_FIELDS =
-      UserEntity_.class_.getAttributes().stream()
-          .map(Attribute::getName)
-          .collect(Collectors.toSet());
 
+  // Default "ngram_token_size" of MySQL, shorter search strings cannot use the full-text index
+  private static final int NGRAM_TOKEN_SIZE = 2;
+
+  // Maximum number of user ids in a bulk statement
+  private static final int BULK_CHUNK_SIZE = 1000;
+
+  // Sort key extractors, the raw "deleted at" value is used to match the database ordering
+  private static final Map<String, Function<UserEntity, @Nullable Object>> SORT_KEYS =
+      Map.of(
+          UserEntity_.ID, UserEntity::getId,
+          UserEntity_.UUID, UserEntity::getUuid,
+          UserEntity_.EMAIL, UserEntity::getEmail,
+          UserEntity_.ENABLED, UserEntity::isEnabled,
+          UserEntity_.FIRST_NAME, UserEntity::getFirstName,
+          UserEntity_.LAST_NAME, UserEntity::getLastName,
+          UserEntity_.CREATED_AT, UserEntity::getCreatedAt,
+          UserEntity_.DELETED_AT,
+              u -> Objects.requireNonNullElse(u.getDeletedAt(), JpaUtils.SOFT_NULL_INSTANT));
+  private static final Set<String> SORT_FIELDS = SORT_KEYS.keySet();
+
+  private final UserProperties userProperties;
+  private final ObjectMapper objectMapper;
   private final EntityManager em;
   private final PasswordEncoder passwordEncoder;
   private final UserMapper userMapper;
   private final UserRepository userRepository;
-  private final RoleRepository roleRepository;
+  private final UserCache userCache;
+  private final UserChangeLog userChangeLog;
+  private final RoleCatalog roleCatalog;
+  private final TransactionTemplate transactionTemplate;
 
   @Getter
   @RequiredArgsConstructor
@@ -89,24 +136,97 @@ public class UserService {
     return userMapper.toUserDto(user);
   }
 
+  /**
+   * Registers new users.
+   *
+   * <p>Passwords are hashed in parallel before the transaction is started, so that it does not hold
+   * a connection meanwhile. Users are inserted with JDBC batches, either all of them or none.
+   *
+   * @param request users to register
+   * @return registered users
+   * @throws BadRequestException if emails of the users are not unique
+   * @throws ConflictException if users with the same emails already exist
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<UserDtoEx> registerUsers(RegisterUsersRequest request) {
+    var emails = new HashSet<String>();
+    for (var user : request.users()) {
+      // Emails are compared case-insensitively, like the "user_email_uk" index does
+      if (!emails.add(user.email().toLowerCase(Locale.ROOT))) {
+        throw new BadRequestException(
+            MessageFormat.format("Email \"{0}\" is duplicated.", user.email()));
+      }
+    }
+
+    var passwords = hashPasswords(request.users());
+
+    // Matches the precision of the "created_at" column
+    var createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    var users = new ArrayList<UserEntity>(request.users().size());
+    for (var i = 0; i < request.users().size(); i++) {
+      var user = UserEntity.createForInsert();
+      userMapper.update(user, request.users().get(i));
+      user.setPassword(passwords.get(i));
+      user.setCreatedAt(createdAt);
+      users.add(user);
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            var existing =
+                userRepository.findAll(
+                    byEmails(request.users().stream().map(RegisterUserRequest::email).toList())
+                        .and(byDeletedAt(null)));
+            if (!existing.isEmpty()) {
+              throw new ConflictException(
+                  MessageFormat.format(
+                      "Users with emails {0} already exist.",
+                      existing.stream().map(UserEntity::getEmail).sorted().toList()));
+            }
+
+            userRepository.insertAll(users);
+          });
+    } catch (DataIntegrityViolationException ex) {
+      JpaUtils.processConstraintViolation(
+          ex, "user.user_email_uk", () -> "Some of the users already exist.");
+    }
+
+    return users.stream().map(userMapper::toUserDtoEx).toList();
+  }
+
   public UserData getUser(UUID uuid, Access access) {
-    return toUserDto(findUser(byUuid(uuid), access, false), access);
+    var user = findCachedUser(uuid, access);
+    return access.isAdmin() ? userMapper.toUserDtoEx(user) : userMapper.toUserDto(user);
   }
 
-  public List<UserDtoEx> findUsers(FindUsersRequest request) {
+  public FindUsersResult findUsers(FindUsersRequest request) {
+    var cursor = request.cursor() != null ? SeekCursor.decode(request.cursor()) : null;
+    if (cursor != null && request.offset() != null) {
+      throw new BadRequestException("Cursor cannot be combined with offset");
+    }
+
     var cb = em.getCriteriaBuilder();
     var select = cb.createQuery(UserEntity.class);
     var user = select.from(UserEntity.class);
     select.select(user);
 
-    var predicates = getSearchPredicates(request, cb, user);
-    if (predicates.length > 0) {
-      select.where(cb.and(predicates));
+    // The unique "id" makes the order total, which is required for the keyset pagination
+    var sort = DataUtils.parseSort(request.sort(), SORT_FIELDS);
+    if (sort.getOrderFor(UserEntity_.ID) == null) {
+      sort = sort.and(Sort.by(UserEntity_.ID));
+    }
+
+    var predicates = new ArrayList<>(List.of(getSearchPredicates(request, cb, user)));
+    if (cursor != null) {
+      predicates.add(JpaUtils.seekPredicate(cb, user, sort, cursor));
+    }
+
+    if (!predicates.isEmpty()) {
+      select.where(cb.and(predicates.toArray(Predicate[]::new)));
     }
 
-    var pageRequest =
-        OffsetPageRequest.of(
-            request.offset(), request.limit(), DataUtils.parseSort(request.sort(), SORT_FIELDS));
+    var pageRequest = OffsetPageRequest.of(request.offset(), request.limit(), sort);
     var orderBy =
         pageRequest
             .getSort()
@@ -117,13 +237,64 @@ public class UserService {
                   return s.getDirection().isAscending() ? cb.asc(path) : cb.desc(path);
                 })
             .toArray(Order[]::new);
-    if (orderBy.length > 0) {
-      select.orderBy(orderBy);
-    }
+    select.orderBy(orderBy);
 
     JpaUtils.limit(select, pageRequest.getOffset(), pageRequest.getPageSize());
 
-    return em.createQuery(select).getResultList().stream().map(userMapper::toUserDtoEx).toList();
+    var users = em.createQuery(select).getResultList();
+    return new FindUsersResult(
+        users.stream().map(userMapper::toUserDtoEx).toList(),
+        nextCursor(users, pageRequest.getPageSize(), sort));
+  }
+
+  /**
+   * Writes users matching the filter to the output stream as newline delimited JSON.
+   *
+   * <p>Rows are read through a forward-only cursor and the persistence context is cleared
+   * periodically, so the memory usage does not depend on the number of exported users.
+   *
+   * @param filter users filter
+   * @param out output stream
+   * @throws IOException if writing to the output stream fails
+   */
+  public void exportUsers(FindUsersFilter filter, OutputStream out) throws IOException {
+    var cb = em.getCriteriaBuilder();
+    var select = cb.createQuery(UserEntity.class);
+    var user = select.from(UserEntity.class);
+    select.select(user).orderBy(cb.asc(user.get(UserEntity_.id)));
+
+    var predicates = getSearchPredicates(filter, cb, user);
+    if (predicates.length > 0) {
+      select.where(cb.and(predicates));
+    }
+
+    var properties = userProperties.export();
+    var session = em.unwrap(Session.class);
+    var writer =
+        objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator((String) null);
+
+    try (var results =
+            session
+                .createSelectionQuery(select)
+                .setFetchSize(properties.fetchSize())
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        var generator = objectMapper.createGenerator(out)) {
+
+      var count = 0;
+      while (results.next()) {
+        writer.writeValue(generator, userMapper.toUserDtoEx(results.get()));
+        generator.writeRaw('\n');
+
+        if (++count % properties.flushSize() == 0) {
+          generator.flush();
+          session.clear();
+        }
+      }
+    }
   }
 
   public CountResult countUsers(CountUsersRequest request) {
@@ -146,6 +317,7 @@ public class UserService {
 
     userMapper.update(user, request);
     save(user);
+    userChangeLog.publish(uuid);
 
     return toUserDto(user, access);
   }
@@ -155,6 +327,7 @@ public class UserService {
     var user = findUser(byUuid(uuid), Access.ADMIN, false);
 
     user.setEnabled(enabled);
+    userChangeLog.publish(uuid);
   }
 
   @Transactional
@@ -162,102 +335,203 @@ public class UserService {
     if (userRepository.softDelete(em, byUuid(uuid).and(byDeletedAt(null))) == 0) {
       throw new NotFoundException(USER_NOT_FOUND);
     }
+
+    userChangeLog.publish(uuid);
   }
 
   public Set<String> getRoles(UUID uuid, Access access) {
-    return findUser(withRoles(byUuid(uuid)), access, true).getRoles().stream()
-        .map(RoleEntity::getName)
-        .collect(Collectors.toSet());
+    return findCachedUser(uuid, access).roles();
   }
 
+  /**
+   * Replaces the roles of a user.
+   *
+   * <p>Role names are resolved from the {@link RoleCatalog}, only the user id and the current role
+   * ids are read, and the difference is applied with a single batch.
+   *
+   * @param uuid user UUID
+   * @param roles new roles
+   * @param access access level
+   */
   @Transactional
   public void setRoles(UUID uuid, Set<String> roles, Access access) {
-    var user = findUser(withRoles(byUuid(uuid)), access, true);
-
-    roles = roles.stream().map(String::toUpperCase).collect(Collectors.toSet());
+    var rows = userRepository.findRoleIds(UuidUtils.toBytes(uuid), access.isAdmin());
+    if (rows.isEmpty()) {
+      throw new NotFoundException(USER_NOT_FOUND);
+    }
 
-    var existingRolesMap =
-        user.getRoles().stream()
-            .collect(Collectors.toMap(RoleEntity::getName, Function.identity()));
+    var existingRoleIds =
+        rows.stream()
+            .map(UserRepository.UserRoleId::getRoleId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    var roleIds = findRoles(roles);
 
     // Only superuser can add/remove protected roles
     if (!access.isSuper()) {
-      checkProtectedRoles(existingRolesMap, roles);
+      checkProtectedRoles(
+          existingRoleIds.stream().map(roleCatalog::getName).collect(Collectors.toSet()),
+          roleIds.keySet());
     }
 
-    addNewRoles(user, existingRolesMap, roles);
-    removeOldRoles(user, existingRolesMap, roles);
+    var newRoleIds = Set.copyOf(roleIds.values());
+    userRepository.updateRoleIds(
+        em,
+        rows.getFirst().getUserId(),
+        newRoleIds.stream().filter(not(existingRoleIds::contains)).toList(),
+        existingRoleIds.stream().filter(not(newRoleIds::contains)).toList());
+
+    userChangeLog.publish(uuid);
   }
 
-  private void checkProtectedRoles(Map<String, RoleEntity> existingRolesMap, Set<String> roles) {
-    for (var name : RoleRepository.PROTECTED_NAMES) {
-      if (roles.contains(name) && !existingRolesMap.containsKey(name)) {
-        throw new AccessDeniedException("Cannot add protected role \"" + name + '"');
-      } else if (existingRolesMap.containsKey(name) && !roles.contains(name)) {
-        throw new AccessDeniedException("Cannot remove protected role \"" + name + '"');
-      }
+  /**
+   * Enables or disables users with a single update.
+   *
+   * @param selector users to update
+   * @param enabled new enabled flag
+   * @param excluded UUID of the user which must not be updated
+   * @return number of changed users
+   */
+  @Transactional
+  public long setUsersEnabled(UsersSelector selector, boolean enabled, UUID excluded) {
+    if (isEmpty(selector)) {
+      return 0;
+    }
+
+    var cb = em.getCriteriaBuilder();
+    var update = cb.createCriteriaUpdate(UserEntity.class);
+    var user = update.from(UserEntity.class);
+
+    var predicates = new ArrayList<>(List.of(getSelectorPredicates(selector, cb, user)));
+    predicates.add(cb.notEqual(user.get(UserEntity_.enabled), enabled));
+    predicates.add(cb.notEqual(user.get(UserEntity_.uuid), excluded));
+
+    update.set(user.get(UserEntity_.enabled), enabled).where(predicates.toArray(Predicate[]::new));
+
+    var count = em.createQuery(update).executeUpdate();
+    invalidate(selector);
+
+    return count;
+  }
+
+  /**
+   * Adds roles to users.
+   *
+   * <p>The users are looked up with one query, the roles are added with set-based inserts which
+   * skip roles the users already have.
+   *
+   * @param selector users to update
+   * @param roles roles to add
+   * @param access access level
+   * @return number of added user roles
+   */
+  @Transactional
+  public long addRoles(UsersSelector selector, Set<String> roles, Access access) {
+    var roleIds = findRoles(roles);
+
+    // Only superuser can add protected roles
+    if (!access.isSuper()) {
+      checkProtectedRoles(Set.of(), roleIds.keySet());
     }
+
+    return updateRoles(selector, roleIds.values(), userRepository::insertRoles);
   }
 
-  private void addNewRoles(
-      UserEntity user, Map<String, RoleEntity> existingRolesMap, Set<String> roles) {
+  /**
+   * Removes roles from users.
+   *
+   * <p>The users are looked up with one query, the roles are removed with set-based deletes.
+   *
+   * @param selector users to update
+   * @param roles roles to remove
+   * @param access access level
+   * @return number of removed user roles
+   */
+  @Transactional
+  public long removeRoles(UsersSelector selector, Set<String> roles, Access access) {
+    var roleIds = findRoles(roles);
 
-    var newRoles =
-        roles.stream().filter(not(existingRolesMap::containsKey)).collect(Collectors.toSet());
-    if (newRoles.isEmpty()) {
-      return;
+    // Only superuser can remove protected roles
+    if (!access.isSuper()) {
+      checkProtectedRoles(roleIds.keySet(), Set.of());
     }
 
-    var newRoleEntities = roleRepository.findAll(RoleRepository.Spec.byNames(newRoles));
-    if (newRoles.size() != newRoleEntities.size()) {
-      var notFoundRoleNames = new HashSet<>(newRoles);
-      notFoundRoleNames.removeAll(
-          newRoleEntities.stream().map(RoleEntity::getName).collect(Collectors.toSet()));
+    return updateRoles(selector, roleIds.values(), userRepository::deleteRoles);
+  }
+
+  private long updateRoles(
+      UsersSelector selector,
+      Collection<Long> roleIds,
+      BiFunction<Collection<Long>, Collection<Long>, Integer> statement) {
 
-      throw new NotFoundException("Cannot find roles " + notFoundRoleNames);
+    if (isEmpty(selector)) {
+      return 0;
     }
 
-    var session = em.unwrap(Session.class);
-    session.doWork(con -> insertNewRoles(con, user, newRoleEntities));
+    var cb = em.getCriteriaBuilder();
+    var select = cb.createQuery(Long.class);
+    var user = select.from(UserEntity.class);
+    select.select(user.get(UserEntity_.id)).where(getSelectorPredicates(selector, cb, user));
+
+    var userIds = em.createQuery(select).getResultList();
+
+    var count = 0L;
+    for (var from = 0; from < userIds.size(); from += BULK_CHUNK_SIZE) {
+      var chunk = userIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, userIds.size()));
+      count += statement.apply(chunk, roleIds);
+    }
+
+    invalidate(selector);
+    return count;
   }
 
-  private void insertNewRoles(Connection con, UserEntity user, List<RoleEntity> roles)
-      throws SQLException {
-    try (var ps =
-        con.prepareStatement("INSERT INTO `user_role` (`user_id`, `role_id`) VALUES (?, ?)")) {
+  private Map<String, Long> findRoles(Set<String> names) {
+    return roleCatalog.getIds(names.stream().map(String::toUpperCase).collect(Collectors.toSet()));
+  }
 
-      ps.setLong(1, user.getId());
-      for (var role : roles) {
-        ps.setLong(2, role.getId());
-        ps.addBatch();
-      }
+  private Predicate[] getSelectorPredicates(
+      UsersSelector selector, CriteriaBuilder cb, Root<UserEntity> users) {
 
-      ps.executeBatch();
+    if (selector.uuids() != null) {
+      return new Predicate[] {users.get(UserEntity_.uuid).in(selector.uuids())};
     }
+
+    return getSearchPredicates(Objects.requireNonNull(selector.filter()), cb, users);
   }
 
-  private void removeOldRoles(
-      UserEntity user, Map<String, RoleEntity> existingRolesMap, Set<String> roles) {
-    var deleteRoleIds =
-        existingRolesMap.values().stream()
-            .filter(r -> !roles.contains(r.getName()))
-            .map(RoleEntity::getId)
-            .toList();
-    if (!deleteRoleIds.isEmpty()) {
-      userRepository.deleteRolesByIds(user.getId(), deleteRoleIds);
+  private static boolean isEmpty(UsersSelector selector) {
+    if ((selector.uuids() == null) == (selector.filter() == null)) {
+      throw new BadRequestException("Either UUIDs or filter must be set");
     }
+
+    return selector.uuids() != null && selector.uuids().isEmpty();
   }
 
-  private static Predicate[] getSearchPredicates(
+  // Users selected by a filter are not known, so all cached users are invalidated
+  private void invalidate(UsersSelector selector) {
+    if (selector.uuids() != null) {
+      userChangeLog.publish(selector.uuids());
+    } else {
+      userChangeLog.publishAll();
+    }
+  }
+
+  private void checkProtectedRoles(Set<String> existingRoles, Set<String> roles) {
+    for (var name : RoleRepository.PROTECTED_NAMES) {
+      if (roles.contains(name) && !existingRoles.contains(name)) {
+        throw new AccessDeniedException("Cannot add protected role \"" + name + '"');
+      } else if (existingRoles.contains(name) && !roles.contains(name)) {
+        throw new AccessDeniedException("Cannot remove protected role \"" + name + '"');
+      }
+    }
+  }
+
+  private Predicate[] getSearchPredicates(
       FindUsersFilter request, CriteriaBuilder cb, Root<UserEntity> users) {
     var predicates = new ArrayList<Predicate>();
-    if (request.search() != null) {
-      var search = '%' + EscapeCharacter.DEFAULT.escape(request.search()) + '%';
-      predicates.add(
-          cb.or(
-              cb.like(users.get(UserEntity_.email), search),
-              cb.like(users.get(UserEntity_.firstName), search),
-              cb.like(users.get(UserEntity_.lastName), search)));
+    var search = normalizeSearch(request.search());
+    if (search != null) {
+      predicates.add(getSearchPredicate(search, cb, users));
     }
 
     if (request.enabled() != null) {
@@ -275,12 +549,80 @@ public class UserService {
     return predicates.toArray(Predicate[]::new);
   }
 
+  /**
+   * Strips the search string.
+   *
+   * @param search search string
+   * @return stripped search string, or {@code null} if the search is blank
+   */
+  static @Nullable String normalizeSearch(@Nullable String search) {
+    if (search == null || search.isBlank()) {
+      return null;
+    }
+
+    return search.strip();
+  }
+
+  private Predicate getSearchPredicate(String search, CriteriaBuilder cb, Root<UserEntity> users) {
+    // A phrase finds the same rows as LIKE only for a single word of at least "ngram_token_size"
+    // characters, ngrams do not span whitespace and double quotes would end the phrase
+    if (search.length() >= NGRAM_TOKEN_SIZE
+        && search.chars().noneMatch(c -> c == '"' || Character.isWhitespace(c))
+        && isFullTextSearchSupported()) {
+      var match =
+          cb.function(
+              UserSearchFunctionContributor.FUNCTION_NAME,
+              Double.class,
+              users.get(UserEntity_.email),
+              users.get(UserEntity_.firstName),
+              users.get(UserEntity_.lastName),
+              ((HibernateCriteriaBuilder) cb).value('"' + search + '"'));
+      return cb.gt(match, 0);
+    }
+
+    var pattern = '%' + EscapeCharacter.DEFAULT.escape(search) + '%';
+    return cb.or(
+        cb.like(users.get(UserEntity_.email), pattern),
+        cb.like(users.get(UserEntity_.firstName), pattern),
+        cb.like(users.get(UserEntity_.lastName), pattern));
+  }
+
+  private boolean isFullTextSearchSupported() {
+    return em.getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getQueryEngine()
+            .getSqmFunctionRegistry()
+            .findFunctionDescriptor(UserSearchFunctionContributor.FUNCTION_NAME)
+        != null;
+  }
+
+  private static @Nullable String nextCursor(List<UserEntity> users, int limit, Sort sort) {
+    if (limit == 0 || users.size() < limit) {
+      return null;
+    }
+
+    var last = users.getLast();
+    return SeekCursor.of(
+            sort,
+            sort.stream()
+                .map(o -> Objects.requireNonNull(SORT_KEYS.get(o.getProperty())).apply(last))
+                .toList())
+        .encode();
+  }
+
   private UserEntity findUser(Specification<UserEntity> spec, Access access, boolean fetch) {
     var user = fetch ? userRepository.fetchOne(spec) : userRepository.findOne(spec);
     return user.filter(u -> access.isAdmin() || (u.isEnabled() && !u.isDeleted()))
         .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
   }
 
+  private UserSnapshot findCachedUser(UUID uuid, Access access) {
+    return userCache
+        .findByUuid(uuid)
+        .filter(u -> access.isAdmin() || (u.enabled() && !u.isDeleted()))
+        .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+  }
+
   private void save(UserEntity user) {
     try {
       if (user.getId() == null) {
@@ -299,4 +641,37 @@ public class UserService {
   private UserData toUserDto(UserEntity user, Access access) {
     return access.isAdmin() ? userMapper.toUserDtoEx(user) : userMapper.toUserDto(user);
   }
+
+  private List<String> hashPasswords(List<RegisterUserRequest> users) {
+    try (var executor =
+        Executors.newFixedThreadPool(
+            userProperties.bulkImport().hashConcurrency(),
+            Thread.ofVirtual().name("user-register-", 0).factory())) {
+
+      var futures =
+          users.stream()
+              .map(u -> executor.submit(() -> passwordEncoder.encode(u.password())))
+              .toList();
+      var passwords = new ArrayList<String>(users.size());
+      try {
+        for (var future : futures) {
+          passwords.add(future.get());
+        }
+      } catch (ExecutionException ex) {
+        // Cancels the remaining hashes, closing the executor would wait for them
+        executor.shutdownNow();
+        if (ex.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+
+        throw new InternalServerErrorException("Password hashing failed", ex.getCause());
+      } catch (InterruptedException ex) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+        throw new InternalServerErrorException("Password hashing was interrupted", ex);
+      }
+
+      return passwords;
+    }
+  }
 }
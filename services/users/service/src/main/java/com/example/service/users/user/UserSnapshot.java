@@ -0,0 +1,54 @@
+package com.example.service.users.user;
+
+import com.example.service.users.role.model.RoleEntity;
+import com.example.service.users.user.model.UserEntity;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable copy of a {@link UserEntity} with its role names, safe to share between threads.
+ *
+ * @param id user ID
+ * @param uuid user UUID
+ * @param email email address
+ * @param password password hash
+ * @param enabled whether the user is enabled
+ * @param firstName first name
+ * @param lastName last name
+ * @param createdAt creation timestamp
+ * @param deletedAt deletion timestamp, {@code null} if the user is not deleted
+ * @param roles role names
+ */
+public record UserSnapshot(
+    Long id,
+    UUID uuid,
+    String email,
+    String password,
+    boolean enabled,
+    String firstName,
+    String lastName,
+    Instant createdAt,
+    @Nullable Instant deletedAt,
+    Set<String> roles) {
+
+  public static UserSnapshot of(UserEntity user) {
+    return new UserSnapshot(
+        user.getId(),
+        user.getUuid(),
+        user.getEmail(),
+        user.getPassword(),
+        user.isEnabled(),
+        user.getFirstName(),
+        user.getLastName(),
+        user.getCreatedAt(),
+        user.getDeletedAt(),
+        user.getRoles().stream().map(RoleEntity::getName).collect(Collectors.toUnmodifiableSet()));
+  }
+
+  public boolean isDeleted() {
+    return deletedAt != null;
+  }
+}
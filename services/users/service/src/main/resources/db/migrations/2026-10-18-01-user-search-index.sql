@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+-- changeset misha:user-search-index dbms:mysql
+-- The ngram parser drops every token which contains a stopword, e.g. "ma" contains the stopword "a",
+-- so the index is created without stopwords to find the same rows as LIKE. The stopword setting is
+-- stored with the index, the server setting does not matter afterwards.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE `user`
+    ADD FULLTEXT INDEX `user_search_ft` (`email`, `first_name`, `last_name`) WITH PARSER ngram;
+
+-- rollback ALTER TABLE `user` DROP INDEX `user_search_ft`;
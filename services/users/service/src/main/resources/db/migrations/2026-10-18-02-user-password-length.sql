@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+-- changeset misha:user-password-length
+ALTER TABLE `user`
+    MODIFY `password` varchar(255) NOT NULL;
+
+-- rollback ALTER TABLE `user` MODIFY `password` varchar(60) NOT NULL;
@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+-- changeset misha:role-catalog
+CREATE TABLE `role_catalog`
+(
+    `id`      tinyint NOT NULL,
+    `version` bigint  NOT NULL,
+    PRIMARY KEY (`id`)
+);
+
+INSERT INTO `role_catalog`
+VALUES (1, 1);
+
+-- rollback DROP TABLE `role_catalog`;
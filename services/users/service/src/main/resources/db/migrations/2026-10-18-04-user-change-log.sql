@@ -0,0 +1,25 @@
+-- liquibase formatted sql
+-- changeset misha:user-change-log
+CREATE TABLE `user_change_version`
+(
+    `id`      tinyint NOT NULL,
+    `version` bigint  NOT NULL,
+    PRIMARY KEY (`id`)
+);
+
+INSERT INTO `user_change_version`
+VALUES (1, 1);
+
+CREATE TABLE `user_change`
+(
+    `id`         bigint      NOT NULL AUTO_INCREMENT,
+    `version`    bigint      NOT NULL,
+    `uuid`       binary(16)  NULL,
+    `created_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `user_change_version_idx` (`version`),
+    KEY `user_change_created_at_idx` (`created_at`)
+);
+
+-- rollback DROP TABLE `user_change`;
+-- rollback DROP TABLE `user_change_version`;
@@ -1,5 +1,6 @@
 package com.example.service.users.auth;
 
+import static com.example.service.users.user.UserRepository.Spec.*;
 import static org.assertj.core.api.Assertions.*;
 
 import com.example.autoconfigure.web.servlet.security.ServletJwtAuthenticationConverter;
@@ -9,6 +10,8 @@ import com.example.client.users.auth.dto.LoginRequest;
 import com.example.client.users.auth.dto.RefreshRequest;
 import com.example.common.web.client.blocking.BlockingClientFactory;
 import com.example.service.users.UsersServiceApplication;
+import com.example.service.users.user.UserRepository;
+import com.example.service.users.user.UserSecurityVersions;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NullUnmarked;
@@ -34,6 +37,8 @@ class AuthApiTests {
 
   @Autowired private JwtDecoder jwtDecoder;
   @Autowired private ServletJwtAuthenticationConverter jwtConverter;
+  @Autowired private UserSecurityVersions securityVersions;
+  @Autowired private UserRepository userRepository;
 
   @BeforeAll
   static void init(@LocalServerPort int port) {
@@ -47,10 +52,20 @@ class AuthApiTests {
     var loginResponse = client.login(new LoginRequest("admin@example.com", "password"));
     assertCorrectAuthResponse(loginResponse);
 
+    // The legacy hash is upgraded on login and still matches afterwards
+    assertThat(userRepository.findOne(byEmail("admin@example.com")))
+        .hasValueSatisfying(u -> assertThat(u.getPassword()).startsWith("{bcrypt}"));
+    assertCorrectAuthResponse(client.login(new LoginRequest("admin@example.com", "password")));
+
     assertUnauthorized(() -> client.refresh(new RefreshRequest(loginResponse.accessToken())));
 
     var refreshResponse = client.refresh(new RefreshRequest(loginResponse.refreshToken()));
     assertCorrectAuthResponse(refreshResponse);
+
+    // Changed security version makes the refresh reload the user
+    securityVersions.bump(refreshResponse.uuid());
+    refreshResponse = client.refresh(new RefreshRequest(refreshResponse.refreshToken()));
+    assertCorrectAuthResponse(refreshResponse);
   }
 
   private void assertCorrectAuthResponse(AuthResponse authResponse) {
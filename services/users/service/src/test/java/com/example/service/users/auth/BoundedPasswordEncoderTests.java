@@ -0,0 +1,197 @@
+package com.example.service.users.auth;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.client.users.auth.AuthBlockingClient;
+import com.example.client.users.auth.dto.LoginRequest;
+import com.example.common.error.exception.InternalServerErrorException;
+import com.example.common.error.exception.ServiceUnavailableException;
+import com.example.common.web.client.blocking.BlockingClientFactory;
+import com.example.service.users.UsersServiceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.allow-bean-definition-overriding=true")
+@ContextConfiguration(
+    classes = {
+      UsersServiceApplication.class,
+      BoundedPasswordEncoderTests.BlockingEncoderConfiguration.class
+    })
+@NullUnmarked
+class BoundedPasswordEncoderTests {
+  private static final BlockingPasswordEncoder blockingEncoder = new BlockingPasswordEncoder();
+
+  @LocalServerPort private int port;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Test
+  void rejectsWhenQueueIsFull() throws Exception {
+    var delegate = new BlockingPasswordEncoder();
+    var meterRegistry = new SimpleMeterRegistry();
+    try (var encoder = new BoundedPasswordEncoder(delegate, properties(1, 1), meterRegistry)) {
+
+      // One check runs on the only thread, the other one waits in the queue
+      var running = CompletableFuture.supplyAsync(() -> encoder.matches("password", "password"));
+      delegate.awaitStarted();
+      var queued = CompletableFuture.supplyAsync(() -> encoder.matches("password", "password"));
+      awaitQueued(meterRegistry);
+
+      assertThatExceptionOfType(ServiceUnavailableException.class)
+          .isThrownBy(() -> encoder.matches("password", "password"))
+          .satisfies(
+              ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+      assertThatExceptionOfType(ServiceUnavailableException.class)
+          .isThrownBy(() -> encoder.encode("password"));
+
+      delegate.release();
+      assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+
+      // Capacity is available again
+      assertThat(encoder.matches("password", "password")).isTrue();
+    }
+  }
+
+  @Test
+  void cancelsQueuedCheckOfInterruptedCaller() throws Exception {
+    var delegate = new BlockingPasswordEncoder();
+    var meterRegistry = new SimpleMeterRegistry();
+    try (var encoder = new BoundedPasswordEncoder(delegate, properties(1, 1), meterRegistry)) {
+
+      var running = CompletableFuture.supplyAsync(() -> encoder.matches("password", "password"));
+      delegate.awaitStarted();
+
+      var failure = new CompletableFuture<Throwable>();
+      var caller =
+          Thread.ofVirtual()
+              .start(
+                  () -> {
+                    try {
+                      encoder.matches("password", "password");
+                      failure.complete(null);
+                    } catch (RuntimeException ex) {
+                      failure.complete(ex);
+                    }
+                  });
+      awaitQueued(meterRegistry);
+      caller.interrupt();
+      assertThat(failure.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(InternalServerErrorException.class);
+
+      // The cancelled check does not occupy the queue while the first one runs
+      var queued = CompletableFuture.supplyAsync(() -> encoder.matches("password", "password"));
+      awaitQueued(meterRegistry);
+
+      delegate.release();
+      assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void loginIsRejectedWhenHashingIsSaturated() throws Exception {
+    var client =
+        BlockingClientFactory.create(RestClient.builder().baseUrl("http://localhost:" + port))
+            .createClient(AuthBlockingClient.class);
+
+    // Occupies the only hashing thread, the queue has no capacity
+    Future<Boolean> running =
+        CompletableFuture.supplyAsync(() -> passwordEncoder.matches("password", "password"));
+    try {
+      blockingEncoder.awaitStarted();
+
+      assertThatExceptionOfType(HttpServerErrorException.ServiceUnavailable.class)
+          .isThrownBy(() -> client.login(new LoginRequest("admin@example.com", "password")));
+    } finally {
+      blockingEncoder.release();
+    }
+
+    assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static void awaitQueued(MeterRegistry meterRegistry) throws InterruptedException {
+    var queued = meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge();
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (queued.value() == 0) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  private static PasswordProperties properties(int threads, int queueCapacity) {
+    return new PasswordProperties(
+        threads,
+        queueCapacity,
+        PasswordProperties.Algorithm.BCRYPT,
+        new PasswordProperties.BCryptProperties(4),
+        new PasswordProperties.Argon2Properties(16, 32, 1, 19456, 2),
+        new PasswordProperties.Pbkdf2Properties(16, 1000));
+  }
+
+  @TestConfiguration
+  static class BlockingEncoderConfiguration {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+      return new BoundedPasswordEncoder(blockingEncoder, properties(1, 0), meterRegistry);
+    }
+  }
+
+  /** Plain text encoder which blocks until released. */
+  private static final class BlockingPasswordEncoder implements PasswordEncoder {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      block();
+      return rawPassword.toString();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      block();
+      return NoOpPasswordEncoder.getInstance().matches(rawPassword, encodedPassword);
+    }
+
+    void awaitStarted() throws InterruptedException {
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    void release() {
+      released.countDown();
+    }
+
+    private void block() {
+      started.countDown();
+      try {
+        if (!released.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Password encoder was not released");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+}
@@ -11,6 +11,7 @@ import com.example.common.uuid.UuidType;
 import com.example.common.uuid.UuidUtils;
 import com.example.common.web.client.blocking.BlockingClientFactory;
 import com.example.service.users.UsersServiceApplication;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -100,6 +101,13 @@ class RoleApiTests {
 
     var response = adminClient.getAllRoles(request);
     assertThat(response).contains(role.name());
+
+    var sorted = adminClient.getAllRoles(request.toBuilder().sort("name:desc").build());
+    assertThat(sorted)
+        .containsExactlyInAnyOrderElementsOf(response)
+        .isSortedAccordingTo(Comparator.reverseOrder());
+
+    assertBadRequest(() -> adminClient.getAllRoles(request.toBuilder().sort("unknown").build()));
   }
 
   private void testDeleteRole() {
@@ -108,6 +116,8 @@ class RoleApiTests {
     assertSecured(api -> api.deleteRole(role.name()));
     adminClient.deleteRole(role.name());
     assertNotFound(() -> adminClient.deleteRole(role.name()));
+    assertThat(adminClient.getAllRoles(GetAllRolesRequest.builder().build()))
+        .doesNotContain(role.name());
   }
 
   private static void assertSecured(Consumer<RoleBlockingClient> caller) {
@@ -0,0 +1,53 @@
+package com.example.service.users.role;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.common.uuid.UuidType;
+import com.example.common.uuid.UuidUtils;
+import com.example.service.users.UsersServiceApplication;
+import com.example.service.users.user.UserCache;
+import com.example.service.users.user.UserSecurityVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ContextConfiguration(classes = UsersServiceApplication.class)
+@NullUnmarked
+class RoleCatalogTests {
+  @Autowired private RoleCatalog roleCatalog;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private UserCache userCache;
+  @Autowired private UserSecurityVersions securityVersions;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void pollInvalidatesUsersWhenRolesChangedElsewhere() {
+    var uuid = UuidUtils.randomUUID(UuidType.USER);
+    var version = securityVersions.get(uuid);
+    assertThat(userCache.findByEmail("john@example.com")).isPresent();
+
+    // Unchanged roles keep the cached users
+    roleCatalog.poll();
+    assertThat(securityVersions.isCurrent(uuid, version)).isTrue();
+    assertThat(cachedUsers()).isOne();
+
+    // Another instance changed roles, which only invalidated its own users
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(status -> roleRepository.incrementCatalogVersion());
+
+    roleCatalog.poll();
+    assertThat(securityVersions.isCurrent(uuid, version)).isFalse();
+    assertThat(cachedUsers()).isZero();
+  }
+
+  private double cachedUsers() {
+    return meterRegistry.get("cache.size").tag("cache", "users.by-uuid").gauge().value();
+  }
+}
@@ -6,19 +6,28 @@ import static org.assertj.core.api.Assertions.*;
 import com.example.client.users.auth.AuthBlockingClient;
 import com.example.client.users.auth.dto.LoginRequest;
 import com.example.client.users.user.UserBlockingClient;
+import com.example.client.users.user.dto.BulkRolesRequest;
 import com.example.client.users.user.dto.CountUsersRequest;
 import com.example.client.users.user.dto.FindUsersRequest;
+import com.example.client.users.user.dto.ImportUserError;
+import com.example.client.users.user.dto.ImportUsersResult;
 import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.client.users.user.dto.RegisterUsersRequest;
 import com.example.client.users.user.dto.UpdateUserRequest;
 import com.example.client.users.user.dto.UserDto;
 import com.example.client.users.user.dto.UserDtoEx;
+import com.example.client.users.user.dto.UsersFilter;
+import com.example.client.users.user.dto.UsersSelector;
 import com.example.common.security.jwt.JwtTokenService;
 import com.example.common.uuid.UuidType;
 import com.example.common.uuid.UuidUtils;
 import com.example.common.web.client.blocking.BlockingClientFactory;
 import com.example.service.users.UsersServiceApplication;
 import com.example.service.users.role.RoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -31,6 +40,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestClient;
@@ -43,6 +53,7 @@ class UserApiTest {
   private static final UpdateUserRequest conflictUpdateUserRequest =
       new UpdateUserRequest("john@example.com", "Fist", "Last");
 
+  private static String baseUrl;
   private static JwtTokenService tokenService;
   private static BlockingClientFactory factory;
   private static UserBlockingClient client;
@@ -51,19 +62,21 @@ class UserApiTest {
   private static UserBlockingClient noAuthClient;
 
   @Autowired private TestMapper mapper;
+  @Autowired private MeterRegistry meterRegistry;
 
   private UserDto user;
   private UserDtoEx userEx;
 
   private UserBlockingClient selfClient;
   private UserBlockingClient selfAdminClient;
+  private List<UUID> batchUuids;
 
   @BeforeAll
   static void init(@LocalServerPort int port, @Autowired JwtTokenService jwtTokenService) {
     tokenService = jwtTokenService;
+    baseUrl = "http://localhost:" + port;
 
-    factory =
-        BlockingClientFactory.create(RestClient.builder().baseUrl("http://localhost:" + port));
+    factory = BlockingClientFactory.create(RestClient.builder().baseUrl(baseUrl));
 
     noAuthClient = factory.createClient(UserBlockingClient.class);
     client = createClient(UuidUtils.randomUUID(UuidType.USER), "user");
@@ -78,11 +91,16 @@ class UserApiTest {
     testUpdateUserByUUID();
     testGetUser();
     testGetUserByUUID();
+    testJwtAuthenticationCache();
     testFindAndCountUsers();
+    testExportUsers();
     testDisableUser();
     testEnableUser();
     testGetAndSetUserRoles();
     testDeleteUser();
+    testRegisterUsers();
+    testImportUsers();
+    testBulkOperations();
   }
 
   private void testRegisterUser() {
@@ -121,6 +139,12 @@ class UserApiTest {
 
     assertConflict(() -> selfClient.updateUser(conflictUpdateUserRequest));
 
+    // The old email must not be served from the user cache
+    var authClient = factory.createClient(AuthBlockingClient.class);
+    assertUnauthorized(() -> authClient.login(new LoginRequest(user.email(), "password1")));
+    assertThat(authClient.login(new LoginRequest(request.email(), "password1")).uuid())
+        .isEqualTo(user.uuid());
+
     user = response;
   }
 
@@ -154,6 +178,23 @@ class UserApiTest {
     assertThat(resul).isEqualTo(userEx);
   }
 
+  private void testJwtAuthenticationCache() {
+    var token = tokenService.createToken(user.uuid(), "user");
+    var tokenClient =
+        factory.duplicate().bearerAuth(() -> token).createClient(UserBlockingClient.class);
+    var hits =
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", "jwt.authentication")
+            .tag("result", "hit")
+            .functionCounter();
+
+    var initialHits = hits.count();
+    assertThat(tokenClient.getUser()).isEqualTo(user);
+    assertThat(tokenClient.getUser()).isEqualTo(user);
+    assertThat(hits.count()).isGreaterThan(initialHits);
+  }
+
   private void testFindAndCountUsers() {
     var findRequest = FindUsersRequest.builder().build();
     assertAdminSecured(api -> api.findUsers(findRequest));
@@ -161,11 +202,73 @@ class UserApiTest {
     var findResult = adminClient.findUsers(findRequest);
     assertThat(findResult).contains(userEx);
 
+    var smileClient =
+        factory
+            .duplicate()
+            .smile()
+            .bearerAuth(
+                () -> tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "admin"))
+            .createClient(UserBlockingClient.class);
+    assertThat(smileClient.findUsers(findRequest)).isEqualTo(findResult);
+    assertThat(findUsersPayload(MediaType.parseMediaType("application/x-jackson-smile")))
+        .hasSizeLessThan(findUsersPayload(MediaType.APPLICATION_JSON).length);
+
+    assertThat(adminClient.findUsers(FindUsersRequest.builder().search("Fist3").build()))
+        .containsExactly(userEx);
+
+    assertAdminSecured(api -> api.findUsersPage(findRequest));
+
+    var sort = List.of("email:desc");
+    var pagedResult = new ArrayList<UserDtoEx>();
+    var pageRequest = FindUsersRequest.builder().sort(sort).limit(1).build();
+    do {
+      var page = adminClient.findUsersPage(pageRequest);
+      pagedResult.addAll(page.users());
+      pageRequest = pageRequest.toBuilder().cursor(page.nextCursor()).build();
+    } while (pageRequest.cursor() != null);
+
+    assertThat(pagedResult)
+        .isEqualTo(adminClient.findUsers(FindUsersRequest.builder().sort(sort).build()));
+    assertBadRequest(
+        () ->
+            adminClient.findUsers(
+                FindUsersRequest.builder().sort(List.of("email:asc")).cursor("invalid").build()));
+
     var countRequest = CountUsersRequest.builder().build();
     assertAdminSecured(api -> api.countUsers(countRequest));
 
     var countResult = adminClient.countUsers(countRequest);
     assertThat(countResult.count()).isEqualTo(findResult.size());
+    assertThat(countResult.exact()).isTrue();
+
+    // H2 has no row estimates, so the estimated count falls back to the exact one
+    var estimateResult = adminClient.countUsers(CountUsersRequest.builder().estimate(true).build());
+    assertThat(estimateResult.count()).isEqualTo(findResult.size());
+
+    // Case and whitespace variants of a search share the cached count
+    var searchResult = adminClient.countUsers(CountUsersRequest.builder().search("john").build());
+    assertThat(searchResult.count()).isPositive();
+    assertThat(adminClient.countUsers(CountUsersRequest.builder().search(" JOHN ").build()))
+        .isEqualTo(searchResult);
+  }
+
+  private void testExportUsers() {
+    var export =
+        RestClient.create(baseUrl)
+            .get()
+            .uri("/api/v1/users/export?deleted=false")
+            .headers(
+                h ->
+                    h.setBearerAuth(
+                        tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "admin")))
+            .accept(MediaType.APPLICATION_NDJSON)
+            .retrieve()
+            .body(String.class);
+
+    var findResult = adminClient.findUsers(FindUsersRequest.builder().deleted(false).build());
+    assertThat(export).isNotNull();
+    assertThat(export.lines()).hasSize(findResult.size());
+    assertThat(export).contains(userEx.uuid().toString());
   }
 
   private void testDisableUser() {
@@ -201,6 +304,125 @@ class UserApiTest {
     assertNotFound(selfClient::getRoles);
   }
 
+  private void testRegisterUsers() {
+    var requests =
+        List.of(
+            new RegisterUserRequest("batch1@example.com", " First1 ", " Last1 ", "password1"),
+            new RegisterUserRequest("batch2@example.com", "First2", "Last2", "password2"));
+    var request = new RegisterUsersRequest(requests);
+    assertAdminSecured(api -> api.registerUsers(request));
+
+    var response = adminClient.registerUsers(request);
+    assertThat(response)
+        .extracting(UserDtoEx::email)
+        .containsExactly("batch1@example.com", "batch2@example.com");
+    assertThat(response).extracting(UserDtoEx::firstName).containsExactly("First1", "First2");
+    for (var registered : response) {
+      assertThat(adminClient.getUser(registered.uuid())).isEqualTo(registered);
+    }
+
+    batchUuids = response.stream().map(UserDtoEx::uuid).toList();
+
+    var authResponse =
+        factory
+            .createClient(AuthBlockingClient.class)
+            .login(new LoginRequest("batch2@example.com", "password2"));
+    assertThat(authResponse.uuid()).isEqualTo(response.get(1).uuid());
+
+    assertConflict(() -> adminClient.registerUsers(request));
+    assertBadRequest(
+        () ->
+            adminClient.registerUsers(
+                new RegisterUsersRequest(List.of(requests.getFirst(), requests.getFirst()))));
+    assertBadRequest(
+        () ->
+            adminClient.registerUsers(
+                new RegisterUsersRequest(
+                    List.of(
+                        new RegisterUserRequest(
+                            "batch3@example.com", "First3", "Last3", "password3"),
+                        new RegisterUserRequest(
+                            "BATCH3@example.com", "First3", "Last3", "password3")))));
+  }
+
+  private void testImportUsers() {
+    var ndjson =
+        String.join(
+            "\n",
+            "{\"email\":\"import1@example.com\",\"firstName\":\"First1\",\"lastName\":\"Last1\",\"password\":\"password1\"}",
+            "{\"email\":\"john@example.com\",\"firstName\":\"John\",\"lastName\":\"Doe\",\"password\":\"password\"}",
+            "{malformed",
+            "",
+            "{\"email\":\"import2@example.com\",\"firstName\":\"\",\"lastName\":\"Last2\",\"password\":\"password2\"}",
+            "{\"email\":\"IMPORT1@example.com\",\"firstName\":\"First1\",\"lastName\":\"Last1\",\"password\":\"password1\"}",
+            "{\"email\":\"import3@example.com\",\"firstName\":\"First3\",\"lastName\":\"Last3\",\"password\":\"password3\"}");
+
+    var result = importUsers(MediaType.APPLICATION_NDJSON, ndjson);
+    assertThat(result.imported()).isEqualTo(2);
+    assertThat(result.rejected()).isEqualTo(4);
+    assertThat(result.errors()).extracting(ImportUserError::line).containsExactly(2L, 3L, 5L, 6L);
+    assertThat(result.errors().getFirst().error()).isEqualTo("Email already exists");
+
+    var csv =
+        String.join(
+            "\n",
+            "password,email,firstName,lastName",
+            "\"pass,\"\"word4\",import4@example.com,First4,Last4",
+            "password5,import1@example.com,First1,Last1",
+            "password6,import6@example.com,First6");
+
+    result = importUsers(MediaType.parseMediaType("text/csv"), csv);
+    assertThat(result.imported()).isEqualTo(1);
+    assertThat(result.errors()).extracting(ImportUserError::line).containsExactly(3L, 4L);
+
+    // Only the first rejected rows are reported
+    result = importUsers(MediaType.APPLICATION_NDJSON, "{malformed\n".repeat(1001));
+    assertThat(result.imported()).isZero();
+    assertThat(result.rejected()).isEqualTo(1001);
+    assertThat(result.errors()).hasSize(1000);
+    assertThat(result.errors().getLast().line()).isEqualTo(1000);
+
+    var authClient = factory.createClient(AuthBlockingClient.class);
+    assertThat(authClient.login(new LoginRequest("import3@example.com", "password3"))).isNotNull();
+    assertThat(authClient.login(new LoginRequest("import4@example.com", "pass,\"word4")))
+        .isNotNull();
+  }
+
+  private void testBulkOperations() {
+    var byUuids = UsersSelector.of(batchUuids);
+    var byFilter = UsersSelector.of(UsersFilter.builder().search("batch").build());
+    assertAdminSecured(api -> api.disableUsers(byUuids));
+    assertBadRequest(() -> adminClient.disableUsers(new UsersSelector(null, null)));
+
+    assertThat(adminClient.disableUsers(byUuids).updated()).isEqualTo(2);
+    assertThat(adminClient.disableUsers(byUuids).updated()).isZero();
+    assertThat(adminClient.getUser(batchUuids.getFirst()).enabled()).isFalse();
+    assertThat(adminClient.enableUsers(byFilter).updated()).isEqualTo(2);
+    assertThat(adminClient.getUser(batchUuids.getFirst()).enabled()).isTrue();
+
+    var roles = new BulkRolesRequest(byUuids, Set.of("test_role_1", "TEST_ROLE_2"));
+    assertAdminSecured(api -> api.addRoles(roles));
+    assertNotFound(
+        () -> adminClient.addRoles(new BulkRolesRequest(byUuids, Set.of("UNKNOWN_ROLE"))));
+    assertThat(adminClient.addRoles(roles).updated()).isEqualTo(4);
+    assertThat(adminClient.addRoles(roles).updated()).isZero();
+    assertThat(adminClient.getRoles(batchUuids.getLast()))
+        .isEqualTo(Set.of("TEST_ROLE_1", "TEST_ROLE_2"));
+
+    var protectedRoles = new BulkRolesRequest(byFilter, RoleRepository.PROTECTED_NAMES);
+    assertForbidden(() -> adminClient.addRoles(protectedRoles));
+    assertThat(superClient.addRoles(protectedRoles).updated()).isEqualTo(4);
+    assertForbidden(() -> adminClient.removeRoles(protectedRoles));
+    assertThat(superClient.removeRoles(protectedRoles).updated()).isEqualTo(4);
+
+    assertThat(
+            adminClient
+                .removeRoles(new BulkRolesRequest(byFilter, Set.of("TEST_ROLE_1")))
+                .updated())
+        .isEqualTo(2);
+    assertThat(adminClient.getRoles(batchUuids.getLast())).isEqualTo(Set.of("TEST_ROLE_2"));
+  }
+
   private void testGetAndSetUserRoles() {
     var request = Set.of("TEST_ROLE_1", "TEST_ROLE_2");
     assertAdminSecured(api -> api.setRoles(user.uuid(), request));
@@ -241,6 +463,37 @@ class UserApiTest {
     assertThat(response.createdAt()).isEqualTo(user.createdAt());
   }
 
+  private static byte[] findUsersPayload(MediaType mediaType) {
+    var response =
+        RestClient.create(baseUrl)
+            .get()
+            .uri("/api/v1/users")
+            .headers(
+                h ->
+                    h.setBearerAuth(
+                        tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "admin")))
+            .accept(mediaType)
+            .retrieve()
+            .toEntity(byte[].class);
+
+    assertThat(response.getHeaders().getContentType()).isEqualTo(mediaType);
+    return response.getBody();
+  }
+
+  private static ImportUsersResult importUsers(MediaType mediaType, String body) {
+    return RestClient.create(baseUrl)
+        .post()
+        .uri("/api/v1/users/import")
+        .headers(
+            h ->
+                h.setBearerAuth(
+                    tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "admin")))
+        .contentType(mediaType)
+        .body(body)
+        .retrieve()
+        .body(ImportUsersResult.class);
+  }
+
   private static UserBlockingClient createClient(UUID userUuid, String... roles) {
     Assert.notEmpty(roles, "Roles must not be empty");
     return factory
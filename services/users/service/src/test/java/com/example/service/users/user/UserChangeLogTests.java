@@ -0,0 +1,98 @@
+package com.example.service.users.user;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.client.users.user.dto.RegisterUserRequest;
+import com.example.service.users.UsersServiceApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Checks that changes made by this instance are seen by another instance. */
+@SpringBootTest
+@ContextConfiguration(classes = UsersServiceApplication.class)
+@NullUnmarked
+class UserChangeLogTests {
+  @Autowired private UserProperties userProperties;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private UserCache otherCache;
+  private UserSecurityVersions otherVersions;
+  private UserChangeLog otherChangeLog;
+
+  @BeforeEach
+  void init() {
+    // Another instance shares the database, but has its own caches
+    otherCache = new UserCache(userProperties, userRepository, new SimpleMeterRegistry());
+    otherVersions = new UserSecurityVersions(userProperties);
+    otherChangeLog =
+        new UserChangeLog(
+            userProperties, userRepository, otherCache, otherVersions, transactionManager);
+    otherChangeLog.init();
+  }
+
+  @Test
+  void otherInstanceSeesChangedUser() {
+    var email = "change-log1@example.com";
+    var uuid = register(email);
+
+    var version = otherVersions.get(uuid);
+    assertThat(otherCache.findByEmail(email))
+        .get()
+        .extracting(UserSnapshot::enabled)
+        .isEqualTo(true);
+
+    userService.setUserEnabled(uuid, false);
+
+    // The other instance uses its cached user until it polls the changes
+    assertThat(otherCache.findByEmail(email))
+        .get()
+        .extracting(UserSnapshot::enabled)
+        .isEqualTo(true);
+
+    otherChangeLog.poll();
+    assertThat(otherCache.findByEmail(email))
+        .get()
+        .extracting(UserSnapshot::enabled)
+        .isEqualTo(false);
+    assertThat(otherVersions.isCurrent(uuid, version)).isFalse();
+  }
+
+  @Test
+  void otherInstanceInvalidatesAllUsersWhenChangesWereDeleted() {
+    var email = "change-log2@example.com";
+    var uuid = register(email);
+
+    var version = otherVersions.get(uuid);
+    assertThat(otherCache.findByUuid(uuid)).get().extracting(UserSnapshot::enabled).isEqualTo(true);
+
+    userService.setUserEnabled(uuid, false);
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> userRepository.deleteChanges(LocalDateTime.now(ZoneOffset.UTC).plusDays(1)));
+
+    otherChangeLog.poll();
+    assertThat(otherCache.findByUuid(uuid))
+        .get()
+        .extracting(UserSnapshot::enabled)
+        .isEqualTo(false);
+    assertThat(otherVersions.isCurrent(uuid, version)).isFalse();
+  }
+
+  private UUID register(String email) {
+    return userService
+        .registerUser(new RegisterUserRequest(email, "First", "Last", "password"))
+        .uuid();
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.service.users.user;
+
+import static com.example.service.users.user.UserRepository.Spec.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.client.users.user.dto.ImportUserError;
+import com.example.common.error.exception.ServiceUnavailableException;
+import com.example.service.users.UsersServiceApplication;
+import com.example.service.users.user.model.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@SpringBootTest
+@ContextConfiguration(classes = UsersServiceApplication.class)
+@NullUnmarked
+class UserImportServiceTests {
+  @Autowired private UserProperties userProperties;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private Validator validator;
+  @Autowired private UserMapper userMapper;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void reportsFailedPasswordHashingPerRow() throws Exception {
+    var importService =
+        new UserImportService(
+            userProperties,
+            objectMapper,
+            validator,
+            new FailingPasswordEncoder(),
+            userMapper,
+            userRepository,
+            transactionManager);
+
+    var ndjson =
+        String.join(
+            "\n",
+            row("hash1@example.com", "password1"),
+            row("hash2@example.com", "rejected"),
+            row("hash3@example.com", "failed"),
+            row("hash4@example.com", "password4"));
+
+    var result =
+        importService.importNdjson(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(result.imported()).isEqualTo(2);
+    assertThat(result.errors())
+        .containsExactly(
+            new ImportUserError(2, "hash2@example.com", "Too many concurrent password checks"),
+            new ImportUserError(3, "hash3@example.com", "Password hashing failed"));
+
+    // The other rows of the chunk are imported
+    assertThat(
+            userRepository.findAll(
+                byEmails(
+                    List.of(
+                        "hash1@example.com",
+                        "hash2@example.com",
+                        "hash3@example.com",
+                        "hash4@example.com"))))
+        .extracting(UserEntity::getEmail)
+        .containsExactlyInAnyOrder("hash1@example.com", "hash4@example.com");
+  }
+
+  private static String row(String email, String password) {
+    return "{\"email\":\""
+        + email
+        + "\",\"firstName\":\"First\",\"lastName\":\"Last\",\"password\":\""
+        + password
+        + "\"}";
+  }
+
+  /** Rejects the "rejected" password like a saturated hashing pool and fails the "failed" one. */
+  private static final class FailingPasswordEncoder implements PasswordEncoder {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      return switch (rawPassword.toString()) {
+        case "rejected" ->
+            throw new ServiceUnavailableException("Too many concurrent password checks");
+        case "failed" -> throw new IllegalStateException("Hashing failed");
+        default -> "{noop}" + rawPassword;
+      };
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encode(rawPassword).equals(encodedPassword);
+    }
+  }
+}
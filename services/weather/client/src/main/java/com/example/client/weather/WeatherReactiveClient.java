@@ -2,14 +2,20 @@ package com.example.client.weather;
 
 import com.example.annotation.annotation.ClientInterface;
 import com.example.client.weather.dto.CurrentWeatherResult;
+import com.example.client.weather.dto.WeatherBatchItem;
+import com.example.client.weather.dto.WeatherBatchRequest;
 import com.example.client.weather.dto.WeatherRequest;
 import com.example.common.web.bind.annotation.RequestParamObject;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @ClientInterface
@@ -21,4 +27,14 @@ public interface WeatherReactiveClient {
   @GetExchange("/current")
   @Operation(summary = "Get current weather", description = "Returns current weather")
   Mono<CurrentWeatherResult> current(@Valid @RequestParamObject WeatherRequest request);
+
+  @PostExchange(
+      url = "/current/batch",
+      accept = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  @Operation(
+      summary = "Get current weather for many queries",
+      description =
+          "Returns current weather for each distinct query as soon as it is resolved, streamed as"
+              + " NDJSON when requested")
+  Flux<WeatherBatchItem> currentBatch(@Valid @RequestBody WeatherBatchRequest request);
 }
@@ -0,0 +1,11 @@
+package com.example.client.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.jspecify.annotations.Nullable;
+
+@Schema(description = "The weather batch item DTO")
+public record WeatherBatchItem(
+    @Schema(description = "Query as passed in the request", example = "New York") String query,
+    @Nullable @Schema(description = "Current weather, absent if the query failed")
+        CurrentWeatherResult result,
+    @Nullable @Schema(description = "Error message, present if the query failed") String error) {}
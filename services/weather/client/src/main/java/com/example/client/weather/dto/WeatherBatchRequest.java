@@ -0,0 +1,18 @@
+package com.example.client.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "The weather batch request DTO")
+public record WeatherBatchRequest(
+    @NotEmpty
+        @Size(max = 100)
+        @Schema(
+            description =
+                "Queries in the format of the single weather request, duplicates are resolved"
+                    + " once.",
+            example = "[\"London\", \"New York\"]")
+        List<@NotBlank String> queries) {}
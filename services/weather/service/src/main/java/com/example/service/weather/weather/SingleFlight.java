@@ -0,0 +1,46 @@
+package com.example.service.weather.weather;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent requests with the same key into a single request.
+ *
+ * <p>The first subscriber for a key subscribes to the request, subscribers arriving while it is in
+ * flight share its result. Cancellation of a subscriber does not affect the others, the request is
+ * cancelled only when all subscribers have cancelled. The key is released as soon as the request
+ * terminates, so results are not retained, caching is left to the caller.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+class SingleFlight<K, V> {
+  private final ConcurrentMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the in-flight request for the key, or a new request created by the supplier.
+   *
+   * @param key request key
+   * @param request supplier of the request, invoked once per flight
+   * @return shared request
+   */
+  Mono<V> get(K key, Supplier<Mono<V>> request) {
+    return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> new Flight(k, request)).result);
+  }
+
+  private final class Flight {
+    private final Mono<V> result;
+
+    private Flight(K key, Supplier<Mono<V>> request) {
+      result =
+          Mono.defer(request)
+              .doFinally(signal -> inFlight.remove(key, this))
+              .flux()
+              .publish()
+              .refCount()
+              .singleOrEmpty();
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.service.weather.weather;
 
+import com.example.common.web.client.reactive.NettyClientProperties;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.URL;
@@ -8,4 +10,7 @@ import org.springframework.validation.annotation.Validated;
 
 @ConfigurationProperties("api.weather")
 @Validated
-public record WeatherApiProperties(@NotNull @URL String url, @NotBlank String apiKey) {}
+public record WeatherApiProperties(
+    @NotNull @URL String url,
+    @NotBlank String apiKey,
+    @NotNull @Valid NettyClientProperties client) {}
@@ -0,0 +1,14 @@
+package com.example.service.weather.weather;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Weather batch properties.
+ *
+ * @param concurrency maximum number of queries of a batch resolved concurrently
+ */
+@ConfigurationProperties("weather.batch")
+@Validated
+public record WeatherBatchProperties(@Positive int concurrency) {}
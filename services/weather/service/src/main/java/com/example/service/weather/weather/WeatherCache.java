@@ -0,0 +1,214 @@
+package com.example.service.weather.weather;
+
+import com.example.service.weather.weather.api.dto.ApiCurrentWeatherResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache of current weather looked up by the normalized query.
+ *
+ * <p>The upstream API updates current weather at a fixed {@link
+ * WeatherCacheProperties#updateInterval() interval}, so entries are fresh until the next update of
+ * the cached data is expected, that is {@code last_updated_epoch} plus the update interval, bounded
+ * by the minimum and maximum time to live. Stale entries are served for a while longer and
+ * revalidated in the background, so upstream latency and errors do not reach callers.
+ *
+ * <p>The most frequently used entries, as estimated by the frequency sketch of the cache, are
+ * refreshed in the background shortly before they become stale.
+ *
+ * <p>Concurrent misses for the same query are coalesced into a single upstream request, so an
+ * expired popular entry does not cause a burst of upstream requests.
+ */
+@Slf4j
+class WeatherCache implements AutoCloseable {
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final int REFRESH_CONCURRENCY = 4;
+
+  private final WeatherCacheProperties properties;
+  private final Function<String, Mono<ApiCurrentWeatherResult>> loader;
+  private final SingleFlight<String, ApiCurrentWeatherResult> inFlight = new SingleFlight<>();
+  private final Cache<String, Entry> cache;
+  private final Counter upstreamRequests;
+  private final Counter staleHits;
+  private final Disposable refresher;
+
+  /**
+   * Creates a cache.
+   *
+   * @param properties cache properties
+   * @param meterRegistry meter registry
+   * @param loader loads current weather from the upstream API by query
+   */
+  WeatherCache(
+      WeatherCacheProperties properties,
+      MeterRegistry meterRegistry,
+      Function<String, Mono<ApiCurrentWeatherResult>> loader) {
+
+    this.properties = properties;
+    this.loader = loader;
+
+    cache =
+        Caffeine.newBuilder()
+            .expireAfter(new StaleExpiry(properties.maxStale()))
+            .maximumSize(properties.size())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "weather.current");
+    upstreamRequests =
+        Counter.builder("weather.upstream.requests")
+            .description("The number of requests sent to the upstream weather API")
+            .register(meterRegistry);
+    staleHits =
+        Counter.builder("weather.cache.stale")
+            .description("The number of stale entries served while being revalidated")
+            .register(meterRegistry);
+
+    var refresh = properties.refresh();
+    refresher =
+        refresh.hotEntries() > 0
+            ? Flux.interval(refresh.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshHottest(refresh.hotEntries(), refresh.ahead()))
+                .subscribe()
+            : Disposables.disposed();
+  }
+
+  /**
+   * Normalizes a query, so that queries differing only in case and whitespace share an entry.
+   *
+   * @param query weather query
+   * @return normalized query
+   */
+  static String normalize(String query) {
+    return WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns cached current weather, or loads it from the upstream and caches it.
+   *
+   * <p>A stale entry is returned as is and revalidated in the background. Subscribers missing the
+   * cache while an upstream request for the same query is in flight share its result instead of
+   * sending their own request.
+   *
+   * @param query weather query
+   * @return current weather
+   */
+  Mono<ApiCurrentWeatherResult> get(String query) {
+    return Mono.defer(
+        () -> {
+          var key = normalize(query);
+          var entry = cache.getIfPresent(key);
+          if (entry == null) {
+            return load(key, query);
+          }
+
+          if (entry.isStale(Instant.now())) {
+            staleHits.increment();
+            revalidate(key, entry.query());
+          }
+
+          return Mono.just(entry.result());
+        });
+  }
+
+  @Override
+  public void close() {
+    refresher.dispose();
+  }
+
+  private Mono<ApiCurrentWeatherResult> load(String key, String query) {
+    return inFlight.get(
+        key,
+        () ->
+            loader
+                .apply(query)
+                .doOnSubscribe(s -> upstreamRequests.increment())
+                .doOnNext(result -> cache.put(key, Entry.of(query, result, properties))));
+  }
+
+  private void revalidate(String key, String query) {
+    load(key, query).subscribe(null, ex -> log.warn("Can not revalidate weather for {}", key, ex));
+  }
+
+  private Mono<Void> refreshHottest(int limit, Duration ahead) {
+    var refreshAt = Instant.now().plus(ahead);
+    var hottest =
+        cache.policy().eviction().map(eviction -> eviction.hottest(limit)).orElseGet(Map::of);
+
+    return Flux.fromIterable(hottest.entrySet())
+        .filter(e -> e.getValue().isStale(refreshAt))
+        .flatMap(
+            e ->
+                load(e.getKey(), e.getValue().query())
+                    .onErrorResume(
+                        ex -> {
+                          log.warn("Can not refresh weather for {}", e.getKey(), ex);
+                          return Mono.empty();
+                        }),
+            REFRESH_CONCURRENCY)
+        .then();
+  }
+
+  /**
+   * Cached current weather.
+   *
+   * @param query query the weather was loaded by
+   * @param result current weather
+   * @param staleAt time at which the entry becomes stale
+   */
+  private record Entry(String query, ApiCurrentWeatherResult result, Instant staleAt) {
+
+    static Entry of(String query, ApiCurrentWeatherResult result, WeatherCacheProperties props) {
+      var now = Instant.now();
+      var nextUpdate =
+          Instant.ofEpochSecond(result.current().lastUpdatedEpoch()).plus(props.updateInterval());
+      var ttl = Duration.between(now, nextUpdate);
+
+      if (ttl.compareTo(props.minTtl()) < 0) {
+        ttl = props.minTtl();
+      } else if (ttl.compareTo(props.maxTtl()) > 0) {
+        ttl = props.maxTtl();
+      }
+
+      return new Entry(query, result, now.plus(ttl));
+    }
+
+    boolean isStale(Instant now) {
+      return !now.isBefore(staleAt);
+    }
+  }
+
+  private record StaleExpiry(Duration maxStale) implements Expiry<String, Entry> {
+
+    @Override
+    public long expireAfterCreate(String key, Entry value, long currentTime) {
+      return Duration.between(Instant.now(), value.staleAt()).plus(maxStale).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
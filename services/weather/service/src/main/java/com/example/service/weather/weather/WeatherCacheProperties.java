@@ -0,0 +1,42 @@
+package com.example.service.weather.weather;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Weather cache properties.
+ *
+ * @param updateInterval interval at which the upstream API updates current weather
+ * @param minTtl minimum time for which cached entries are fresh, used when the upstream data is
+ *     already expected to be updated
+ * @param maxTtl maximum time for which cached entries are fresh
+ * @param maxStale time for which stale entries are still served while being revalidated
+ * @param size maximum number of cached entries
+ * @param refresh background refresh properties
+ */
+@ConfigurationProperties("weather.cache")
+@Validated
+public record WeatherCacheProperties(
+    @NotNull Duration updateInterval,
+    @NotNull Duration minTtl,
+    @NotNull Duration maxTtl,
+    @NotNull Duration maxStale,
+    @Positive int size,
+    @NotNull @Valid RefreshProperties refresh) {
+
+  /**
+   * Background refresh properties.
+   *
+   * @param hotEntries number of the most frequently used entries to refresh, {@code 0} disables the
+   *     background refresh
+   * @param interval interval at which the hot entries are checked
+   * @param ahead time before an entry becomes stale in which it is refreshed
+   */
+  public record RefreshProperties(
+      @PositiveOrZero int hotEntries, @NotNull Duration interval, @NotNull Duration ahead) {}
+}
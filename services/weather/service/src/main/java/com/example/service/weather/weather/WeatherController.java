@@ -2,9 +2,12 @@ package com.example.service.weather.weather;
 
 import com.example.client.weather.WeatherReactiveClient;
 import com.example.client.weather.dto.CurrentWeatherResult;
+import com.example.client.weather.dto.WeatherBatchItem;
+import com.example.client.weather.dto.WeatherBatchRequest;
 import com.example.client.weather.dto.WeatherRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -16,4 +19,9 @@ public class WeatherController implements WeatherReactiveClient {
   public Mono<CurrentWeatherResult> current(WeatherRequest request) {
     return weatherService.current(request);
   }
+
+  @Override
+  public Flux<WeatherBatchItem> currentBatch(WeatherBatchRequest request) {
+    return weatherService.currentBatch(request);
+  }
 }
@@ -1,32 +1,96 @@
 package com.example.service.weather.weather;
 
 import com.example.client.weather.dto.CurrentWeatherResult;
+import com.example.client.weather.dto.WeatherBatchItem;
+import com.example.client.weather.dto.WeatherBatchRequest;
 import com.example.client.weather.dto.WeatherRequest;
+import com.example.common.web.client.reactive.NettyClientUtils;
 import com.example.service.weather.weather.api.WeatherComApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
 @Service
-@EnableConfigurationProperties(WeatherApiProperties.class)
-public class WeatherService {
-  private final WeatherComApiClient weatherComClient;
+@Slf4j
+@EnableConfigurationProperties({
+  WeatherApiProperties.class,
+  WeatherCacheProperties.class,
+  WeatherBatchProperties.class
+})
+public class WeatherService implements AutoCloseable {
+  private static final String BATCH_ERROR = "Weather is not available";
+
+  private final WeatherBatchProperties weatherBatchProperties;
+  private final ConnectionProvider connectionProvider;
   private final WeatherMapper weatherMapper;
+  private final WeatherCache weatherCache;
 
   public WeatherService(
       WeatherApiProperties weatherApiProperties,
+      WeatherCacheProperties weatherCacheProperties,
+      WeatherBatchProperties weatherBatchProperties,
       WeatherMapper weatherMapper,
+      MeterRegistry meterRegistry,
       WebClient.Builder webClientBuilder) {
 
-    weatherComClient =
+    var clientProperties = weatherApiProperties.client();
+    connectionProvider = NettyClientUtils.connectionProvider("weather-api", clientProperties);
+
+    var weatherComClient =
         WeatherComApiClient.create(
-            webClientBuilder, weatherApiProperties.url(), weatherApiProperties.apiKey());
+            webClientBuilder,
+            weatherApiProperties.url(),
+            weatherApiProperties.apiKey(),
+            connectionProvider,
+            clientProperties);
 
+    this.weatherBatchProperties = weatherBatchProperties;
     this.weatherMapper = weatherMapper;
+    weatherCache =
+        new WeatherCache(weatherCacheProperties, meterRegistry, weatherComClient::current);
   }
 
   public Mono<CurrentWeatherResult> current(WeatherRequest request) {
-    return weatherComClient.current(request.query()).map(weatherMapper::toCurrentWeatherResult);
+    return weatherCache.get(request.query()).map(weatherMapper::toCurrentWeatherResult);
+  }
+
+  /**
+   * Resolves current weather for many queries.
+   *
+   * <p>Queries are deduplicated by their normalized form and resolved through the cache, at most
+   * {@link WeatherBatchProperties#concurrency()} at a time. Items are emitted as soon as they are
+   * resolved, failed queries are reported per item and do not fail the whole batch.
+   *
+   * @param request batch request
+   * @return batch items in the order of completion
+   */
+  public Flux<WeatherBatchItem> currentBatch(WeatherBatchRequest request) {
+    return Flux.fromIterable(request.queries())
+        .distinct(WeatherCache::normalize)
+        .flatMap(this::currentBatchItem, weatherBatchProperties.concurrency());
+  }
+
+  private Mono<WeatherBatchItem> currentBatchItem(String query) {
+    return weatherCache
+        .get(query)
+        .map(
+            result ->
+                new WeatherBatchItem(query, weatherMapper.toCurrentWeatherResult(result), null))
+        .onErrorResume(
+            ex -> {
+              log.warn("Can not get weather for {}", query, ex);
+              return Mono.just(new WeatherBatchItem(query, null, BATCH_ERROR));
+            });
+  }
+
+  @Override
+  public void close() {
+    weatherCache.close();
+    connectionProvider.dispose();
   }
 }
@@ -1,6 +1,8 @@
 package com.example.service.weather.weather.api;
 
+import com.example.common.web.client.reactive.NettyClientProperties;
 import com.example.common.web.client.reactive.ReactiveClientFactory;
+import com.example.common.web.client.resilience.ClientResilience;
 import com.example.service.weather.weather.api.dto.ApiCurrentWeatherResult;
 import java.util.List;
 import java.util.Map;
@@ -11,19 +13,33 @@ import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
 /** Weather.com API interface. */
 @HttpExchange
+@ClientResilience(
+    hedge = true,
+    maxRetries = 2,
+    deadlineMillis = 10_000,
+    adaptiveConcurrency = true,
+    circuitBreaker = true)
 public interface WeatherComApiClient {
 
   @GetExchange("/current.json")
   Mono<ApiCurrentWeatherResult> current(@RequestParam("q") String q);
 
-  static WeatherComApiClient create(WebClient.Builder builder, String url, String apiKey) {
+  static WeatherComApiClient create(
+      WebClient.Builder builder,
+      String url,
+      String apiKey,
+      ConnectionProvider connectionProvider,
+      NettyClientProperties clientProperties) {
+
     var params = new MultiValueMapAdapter<>(Map.of("key", List.of(apiKey)));
     var baseUrl = UriComponentsBuilder.fromUriString(url).queryParams(params).build().toString();
 
     return ReactiveClientFactory.create(builder.baseUrl(baseUrl))
+        .connector(connectionProvider, clientProperties)
         .defaultErrorType()
         //        .builder(NettyClientUtils.wiretap(LogLevel.INFO, AdvancedByteBufFormat.TEXTUAL))
         .createClient(WeatherComApiClient.class);
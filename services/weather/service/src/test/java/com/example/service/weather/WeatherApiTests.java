@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.*;
 import com.example.client.weather.WeatherBlockingClient;
 import com.example.client.weather.dto.CurrentWeatherResult;
 import com.example.client.weather.dto.LocationDto;
+import com.example.client.weather.dto.WeatherBatchItem;
+import com.example.client.weather.dto.WeatherBatchRequest;
 import com.example.client.weather.dto.WeatherDto;
 import com.example.client.weather.dto.WeatherRequest;
 import com.example.common.security.jwt.JwtTokenService;
@@ -12,13 +14,17 @@ import com.example.common.uuid.UuidType;
 import com.example.common.uuid.UuidUtils;
 import com.example.common.web.client.blocking.BlockingClientFactory;
 import com.example.test.web.client.reactive.MockWebClientService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.validation.BindException;
 import org.springframework.web.client.HttpClientErrorException;
@@ -30,6 +36,9 @@ import org.springframework.web.client.RestClient;
 class WeatherApiTests {
   private static WeatherBlockingClient weatherClient;
   private static WeatherBlockingClient weatherNoAuthClient;
+  private static RestClient restClient;
+
+  @Autowired private MeterRegistry meterRegistry;
 
   @BeforeAll
   static void init(
@@ -46,6 +55,14 @@ class WeatherApiTests {
         factory
             .bearerAuth(() -> tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "user"))
             .createClient(WeatherBlockingClient.class);
+    restClient =
+        RestClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .defaultHeaders(
+                h ->
+                    h.setBearerAuth(
+                        tokenService.createToken(UuidUtils.randomUUID(UuidType.USER), "user")))
+            .build();
 
     mockService.loadFromResources("responses");
   }
@@ -64,5 +81,42 @@ class WeatherApiTests {
             new WeatherDto(25.6, 15.2, "S"));
 
     assertThat(result).isEqualTo(expected);
+
+    var upstreamRequests = meterRegistry.get("weather.upstream.requests").counter();
+    var initialRequests = upstreamRequests.count();
+    assertThat(weatherClient.current(new WeatherRequest(" odesa,  UKRAINE "))).isEqualTo(expected);
+    assertThat(upstreamRequests.count()).isEqualTo(initialRequests);
+  }
+
+  @Test
+  void currentWeatherBatch() {
+    var request = new WeatherBatchRequest(List.of("Odesa, Ukraine", "odesa, ukraine", "Nowhere"));
+
+    assertThatExceptionOfType(HttpClientErrorException.Unauthorized.class)
+        .isThrownBy(() -> weatherNoAuthClient.currentBatch(request));
+
+    var expected =
+        new CurrentWeatherResult(
+            new LocationDto("Odesa", "Odes'ka Oblast'", "Ukraine", 46.47, 30.73, "Europe/Kiev"),
+            new WeatherDto(25.6, 15.2, "S"));
+
+    assertThat(weatherClient.currentBatch(request))
+        .containsExactlyInAnyOrder(
+            new WeatherBatchItem("Odesa, Ukraine", expected, null),
+            new WeatherBatchItem("Nowhere", null, "Weather is not available"));
+
+    var ndjson =
+        restClient
+            .post()
+            .uri("/api/v1/weather/current/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .body(request)
+            .retrieve()
+            .toEntity(String.class);
+
+    assertThat(ndjson.getHeaders().getContentType())
+        .matches(type -> type.isCompatibleWith(MediaType.APPLICATION_NDJSON));
+    assertThat(Objects.requireNonNull(ndjson.getBody()).lines()).hasSize(2);
   }
 }
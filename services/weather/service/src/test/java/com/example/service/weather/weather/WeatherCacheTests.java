@@ -0,0 +1,137 @@
+package com.example.service.weather.weather;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.service.weather.weather.api.dto.ApiCurrentWeatherResult;
+import com.example.service.weather.weather.api.dto.ApiLocationDto;
+import com.example.service.weather.weather.api.dto.ApiWeatherDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@NullUnmarked
+class WeatherCacheTests {
+  private static final Duration TTL = Duration.ofMillis(200);
+  private static final Duration MAX_STALE = Duration.ofSeconds(1);
+
+  private final Queue<Mono<ApiCurrentWeatherResult>> responses = new ConcurrentLinkedQueue<>();
+  private SimpleMeterRegistry meterRegistry;
+  private WeatherCache weatherCache;
+
+  @BeforeEach
+  void init() {
+    // Upstream data is always expected to be updated already, so entries are fresh for the TTL
+    var properties =
+        new WeatherCacheProperties(
+            Duration.ofMinutes(15),
+            TTL,
+            TTL,
+            MAX_STALE,
+            100,
+            new WeatherCacheProperties.RefreshProperties(0, Duration.ofMinutes(1), Duration.ZERO));
+
+    meterRegistry = new SimpleMeterRegistry();
+    weatherCache =
+        new WeatherCache(
+            properties,
+            meterRegistry,
+            query -> {
+              var response = responses.poll();
+              assertThat(response).as("Unexpected upstream request for %s", query).isNotNull();
+              return response;
+            });
+  }
+
+  @AfterEach
+  void close() {
+    weatherCache.close();
+  }
+
+  @Test
+  void coalescesConcurrentMisses() throws Exception {
+    var upstream = Sinks.<ApiCurrentWeatherResult>one();
+    responses.add(upstream.asMono());
+
+    var results = new ArrayList<CompletableFuture<ApiCurrentWeatherResult>>();
+    for (var query : new String[] {"Odesa, Ukraine", " odesa,  UKRAINE ", "ODESA, UKRAINE"}) {
+      for (var i = 0; i < 10; i++) {
+        results.add(weatherCache.get(query).toFuture());
+      }
+    }
+
+    assertThat(upstreamRequests()).isEqualTo(1);
+    assertThat(results).noneMatch(CompletableFuture::isDone);
+
+    var result = result(1);
+    upstream.tryEmitValue(result).orThrow();
+    for (var future : results) {
+      assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(result);
+    }
+
+    assertThat(weatherCache.get("odesa, ukraine").block()).isSameAs(result);
+    assertThat(upstreamRequests()).isEqualTo(1);
+  }
+
+  @Test
+  void servesStaleEntryWhileRevalidating() throws Exception {
+    var stale = result(1);
+    responses.add(Mono.just(stale));
+    assertThat(weatherCache.get("Odesa").block()).isSameAs(stale);
+
+    Thread.sleep(TTL.plusMillis(100).toMillis());
+
+    // The stale entry is served while the revalidation is still in flight
+    var upstream = Sinks.<ApiCurrentWeatherResult>one();
+    responses.add(upstream.asMono());
+    assertThat(weatherCache.get("Odesa").block(Duration.ofSeconds(5))).isSameAs(stale);
+    assertThat(weatherCache.get("Odesa").block(Duration.ofSeconds(5))).isSameAs(stale);
+    assertThat(upstreamRequests()).isEqualTo(2);
+    assertThat(meterRegistry.get("weather.cache.stale").counter().count()).isEqualTo(2);
+
+    var fresh = result(2);
+    upstream.tryEmitValue(fresh).orThrow();
+    assertThat(weatherCache.get("Odesa").block()).isSameAs(fresh);
+    assertThat(upstreamRequests()).isEqualTo(2);
+  }
+
+  @Test
+  void doesNotServeExpiredEntries() throws Exception {
+    var expired = result(1);
+    responses.add(Mono.just(expired));
+    assertThat(weatherCache.get("Odesa").block()).isSameAs(expired);
+
+    Thread.sleep(TTL.plus(MAX_STALE).plusMillis(200).toMillis());
+
+    // The entry is past its maximum staleness, so callers wait for the upstream
+    var upstream = Sinks.<ApiCurrentWeatherResult>one();
+    responses.add(upstream.asMono());
+    var result = weatherCache.get("Odesa").toFuture();
+    assertThat(result).isNotDone();
+    assertThat(upstreamRequests()).isEqualTo(2);
+
+    var fresh = result(2);
+    upstream.tryEmitValue(fresh).orThrow();
+    assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(fresh);
+  }
+
+  private double upstreamRequests() {
+    return meterRegistry.get("weather.upstream.requests").counter().count();
+  }
+
+  private static ApiCurrentWeatherResult result(double tempC) {
+    return new ApiCurrentWeatherResult(
+        new ApiLocationDto(
+            "Odesa", "Odes'ka Oblast'", "Ukraine", 46.47, 30.73, "Europe/Kiev", 0, ""),
+        new ApiWeatherDto(0, "", tempC, 0, 0, 0, "S"));
+  }
+}
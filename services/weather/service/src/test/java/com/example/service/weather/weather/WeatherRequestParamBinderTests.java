@@ -0,0 +1,32 @@
+package com.example.service.weather.weather;
+
+import static com.example.test.web.service.invoker.TestRequestParamUtils.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.client.weather.dto.WeatherRequest;
+import com.example.client.weather.dto.WeatherRequestParamBinder;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Checks that the generated binder writes the same parameters as the Jackson tree walk. */
+@NullUnmarked
+class WeatherRequestParamBinderTests {
+
+  static Stream<WeatherRequest> requests() {
+    return Stream.of(
+        new WeatherRequest("Odesa, Ukraine"),
+        new WeatherRequest(""),
+        new WeatherRequest(null),
+        new WeatherRequest("48.8567,2.3508"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("requests")
+  void writesSameParametersAsJackson(WeatherRequest request) {
+    var binder = new WeatherRequestParamBinder();
+
+    assertThat(capture(builder -> binder.bind(request, builder))).isEqualTo(captureTree(request));
+  }
+}